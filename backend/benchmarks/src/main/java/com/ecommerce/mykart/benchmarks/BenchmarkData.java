@@ -0,0 +1,88 @@
+package com.ecommerce.mykart.benchmarks;
+
+import com.ecommerce.mykart.model.Cart;
+import com.ecommerce.mykart.model.CartItem;
+import com.ecommerce.mykart.model.Order;
+import com.ecommerce.mykart.model.OrderItem;
+import com.ecommerce.mykart.model.Product;
+import com.ecommerce.mykart.model.User;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic test data shaped like the seeded catalog, so runs are comparable.
+ */
+final class BenchmarkData {
+
+    private static final String[] CATEGORIES = {
+            "Electronics", "Books", "Clothing", "Home & Kitchen", "Sports", "Toys", "Beauty", "Grocery"
+    };
+    private static final String[] BRANDS = {"Acme", "Globex", "Initech", "Umbrella", "Hooli", "Stark"};
+
+    private BenchmarkData() {
+    }
+
+    static List<Product> products(int count) {
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            Product product = new Product(
+                    BRANDS[random.nextInt(BRANDS.length)] + " " + category + " item " + random.nextInt(1_000_000),
+                    "A realistic product description for item " + i + " with a few sentences of text. "
+                            + "It describes materials, dimensions and what is in the box.",
+                    BigDecimal.valueOf(100 + random.nextInt(500_000), 2).setScale(2, RoundingMode.HALF_UP),
+                    category,
+                    "https://images.example.com/products/" + i + ".jpg",
+                    random.nextInt(500));
+            product.setId((long) i + 1);
+            product.setBrand(BRANDS[random.nextInt(BRANDS.length)]);
+            product.setModel("M-" + random.nextInt(10_000));
+            product.setWarranty((1 + random.nextInt(3)) + " years");
+            product.setRating(1 + random.nextInt(40) / 10.0);
+            product.setDiscountPercentage(random.nextInt(50));
+            products.add(product);
+        }
+        return products;
+    }
+
+    static Cart cart(int lines) {
+        User user = new User();
+        user.setId(7L);
+        Cart cart = new Cart(user);
+        cart.setId(11L);
+        Random random = new Random(7);
+        List<Product> products = products(lines);
+        for (int i = 0; i < lines; i++) {
+            CartItem item = new CartItem(cart, products.get(i), 1 + random.nextInt(5));
+            item.setId((long) i + 1);
+            cart.getCartItems().add(item);
+        }
+        return cart;
+    }
+
+    static Order order(int lines) {
+        User user = new User();
+        user.setId(7L);
+        Random random = new Random(9);
+        List<Product> products = products(lines);
+        BigDecimal total = BigDecimal.ZERO;
+        Order order = new Order(user, LocalDateTime.of(2024, 11, 29, 10, 15, 30, 123_000_000), null, "PENDING");
+        order.setId(21L);
+        for (int i = 0; i < lines; i++) {
+            int quantity = 1 + random.nextInt(5);
+            BigDecimal price = products.get(i).getPrice().multiply(BigDecimal.valueOf(quantity));
+            OrderItem item = new OrderItem(order, products.get(i), quantity, price);
+            item.setId((long) i + 1);
+            order.getOrderItems().add(item);
+            total = total.add(price);
+        }
+        order.setTotalAmount(total);
+        return order;
+    }
+}
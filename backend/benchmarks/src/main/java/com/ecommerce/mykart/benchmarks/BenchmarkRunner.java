@@ -0,0 +1,153 @@
+package com.ecommerce.mykart.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Runs the benchmarks with the GC profiler and compares time and allocation per operation
+ * against a saved baseline, exiting with status 1 if anything regressed.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar [--include regex] [--baseline file] [--threshold 0.10] [--save-baseline]
+ * </pre>
+ *
+ * All benchmarks report average time per operation, so a higher score is worse.
+ */
+public final class BenchmarkRunner {
+
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    // Ignore allocation changes smaller than this; a few bytes of jitter is normal
+    private static final double ALLOC_NOISE_BYTES = 64;
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String include = ".*";
+        Path baseline = Paths.get("baseline.json");
+        double threshold = 0.10;
+        boolean saveBaseline = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--include" -> include = args[++i];
+                case "--baseline" -> baseline = Paths.get(args[++i]);
+                case "--threshold" -> threshold = Double.parseDouble(args[++i]);
+                case "--save-baseline" -> saveBaseline = true;
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        Files.createDirectories(Paths.get("target"));
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        ObjectNode current = summarize(mapper, results);
+
+        if (saveBaseline) {
+            mapper.writeValue(baseline.toFile(), current);
+            System.out.println("Saved baseline for " + current.size() + " benchmarks to " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("No baseline at " + baseline + "; run with --save-baseline to create one.");
+            return;
+        }
+
+        List<String> regressions = compare(mapper.readTree(baseline.toFile()), current, threshold);
+        if (regressions.isEmpty()) {
+            System.out.println("No regressions beyond " + Math.round(threshold * 100) + "% against " + baseline);
+            return;
+        }
+        System.out.println("REGRESSIONS against " + baseline + ":");
+        regressions.forEach(line -> System.out.println("  " + line));
+        System.exit(1);
+    }
+
+    private static ObjectNode summarize(ObjectMapper mapper, Collection<RunResult> results) {
+        Map<String, ObjectNode> sorted = new TreeMap<>();
+        for (RunResult result : results) {
+            Result primary = result.getPrimaryResult();
+            ObjectNode entry = mapper.createObjectNode();
+            entry.put("score", primary.getScore());
+            entry.put("error", Double.isNaN(primary.getScoreError()) ? 0 : primary.getScoreError());
+            entry.put("unit", primary.getScoreUnit());
+            Result alloc = result.getSecondaryResults().get(ALLOC_METRIC);
+            if (alloc != null) {
+                entry.put("allocBytesPerOp", alloc.getScore());
+            }
+            sorted.put(key(result.getParams()), entry);
+        }
+        ObjectNode summary = mapper.createObjectNode();
+        sorted.forEach(summary::set);
+        return summary;
+    }
+
+    private static List<String> compare(JsonNode baseline, ObjectNode current, double threshold) {
+        List<String> regressions = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = current.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode before = baseline.get(field.getKey());
+            if (before == null) {
+                continue;
+            }
+            JsonNode after = field.getValue();
+
+            double oldScore = before.get("score").asDouble();
+            // Only count it when the slowdown is larger than the measurement error
+            double newScore = after.get("score").asDouble() - after.get("error").asDouble();
+            if (newScore > oldScore * (1 + threshold)) {
+                regressions.add(String.format("%s: time %.3f -> %.3f %s", field.getKey(),
+                        oldScore, after.get("score").asDouble(), after.get("unit").asText()));
+            }
+
+            if (before.has("allocBytesPerOp") && after.has("allocBytesPerOp")) {
+                double oldAlloc = before.get("allocBytesPerOp").asDouble();
+                double newAlloc = after.get("allocBytesPerOp").asDouble();
+                if (newAlloc - oldAlloc > ALLOC_NOISE_BYTES && newAlloc > oldAlloc * (1 + threshold)) {
+                    regressions.add(String.format("%s: allocation %.0f -> %.0f B/op", field.getKey(), oldAlloc, newAlloc));
+                }
+            }
+        }
+        return regressions;
+    }
+
+    // e.g. com.ecommerce.mykart.benchmarks.CartBenchmark.totalPrice:lines=200
+    private static String key(BenchmarkParams params) {
+        StringBuilder key = new StringBuilder(params.getBenchmark());
+        char separator = ':';
+        for (String name : new TreeSet<>(params.getParamsKeys())) {
+            key.append(separator).append(name).append('=').append(params.getParam(name));
+            separator = ',';
+        }
+        return key.toString();
+    }
+}
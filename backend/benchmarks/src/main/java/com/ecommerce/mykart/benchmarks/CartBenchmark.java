@@ -0,0 +1,41 @@
+package com.ecommerce.mykart.benchmarks;
+
+import com.ecommerce.mykart.dto.CartDTO;
+import com.ecommerce.mykart.model.Cart;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cart work: the total shown on every cart view and the entity-to-DTO
+ * conversion done by CartController for every cart response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CartBenchmark {
+
+    @Param({"1", "20", "200", "2000"})
+    private int lines;
+
+    private Cart cart;
+
+    @Setup
+    public void setup() {
+        cart = BenchmarkData.cart(lines);
+    }
+
+    @Benchmark
+    public BigDecimal totalPrice() {
+        return cart.getTotalPrice();
+    }
+
+    @Benchmark
+    public CartDTO convertToCartDTO() {
+        return new CartDTO(cart);
+    }
+}
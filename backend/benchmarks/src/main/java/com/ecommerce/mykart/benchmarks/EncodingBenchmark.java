@@ -0,0 +1,93 @@
+package com.ecommerce.mykart.benchmarks;
+
+import com.ecommerce.mykart.config.ShopJsonModule;
+import com.ecommerce.mykart.dto.CartDTO;
+import com.ecommerce.mykart.model.Product;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of the negotiable response formats (JSON, CBOR, Smile) for the
+ * product listing and cart payloads. Payload sizes are printed during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncodingBenchmark {
+
+    private static final TypeReference<List<Product>> PRODUCT_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"20", "100"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<Product> products;
+    private CartDTO cart;
+    private byte[] encodedProducts;
+    private byte[] encodedCart;
+
+    @Setup
+    public void setup() throws Exception {
+        mapper = mapper(format);
+        products = BenchmarkData.products(size);
+        cart = new CartDTO(BenchmarkData.cart(size));
+        encodedProducts = mapper.writeValueAsBytes(products);
+        encodedCart = mapper.writeValueAsBytes(cart);
+
+        int jsonProducts = mapper("json").writeValueAsBytes(products).length;
+        int jsonCart = mapper("json").writeValueAsBytes(cart).length;
+        System.out.printf("%n%s, %d items: product list %d bytes (%.0f%% of JSON), cart %d bytes (%.0f%% of JSON)%n",
+                format, size, encodedProducts.length, 100.0 * encodedProducts.length / jsonProducts,
+                encodedCart.length, 100.0 * encodedCart.length / jsonCart);
+    }
+
+    @Benchmark
+    public byte[] encodeProductList() throws Exception {
+        return mapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public List<Product> decodeProductList() throws Exception {
+        return mapper.readValue(encodedProducts, PRODUCT_LIST);
+    }
+
+    @Benchmark
+    public byte[] encodeCart() throws Exception {
+        return mapper.writeValueAsBytes(cart);
+    }
+
+    @Benchmark
+    public CartDTO decodeCart() throws Exception {
+        return mapper.readValue(encodedCart, CartDTO.class);
+    }
+
+    // Same modules and settings the application's converters use
+    private static ObjectMapper mapper(String format) {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        return new ObjectMapper(factory)
+                .findAndRegisterModules()
+                .registerModule(new ShopJsonModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.mykart.benchmarks;
+
+import com.ecommerce.mykart.security.JwtUtils;
+import com.ecommerce.mykart.security.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT verification cost: the original JwtUtils path (rebuild the key and a
+ * parser, parse once to validate and again for the subject) against JwtVerifier with
+ * and without its verified-token cache, plus {@link JwtUtils#validateJwtToken} as called
+ * by the request filter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "mySecretKeyThatIsAtLeast32BytesLongForHS256Algorithm";
+
+    private JwtVerifier cachingVerifier;
+    private JwtVerifier uncachedVerifier;
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        cachingVerifier = new JwtVerifier("k1", SECRET, "", 50_000);
+        // A zero-sized cache never stores anything, so every call does the full parse
+        uncachedVerifier = new JwtVerifier("k1", SECRET, "", 0);
+
+        // JwtUtils is normally wired by Spring
+        jwtUtils = new JwtUtils();
+        Field verifierField = JwtUtils.class.getDeclaredField("jwtVerifier");
+        verifierField.setAccessible(true);
+        verifierField.set(jwtUtils, uncachedVerifier);
+
+        token = Jwts.builder()
+                .setSubject("user@example.com")
+                .claim("auth", List.of("USER"))
+                .claim("uid", 42L)
+                .claim("fn", "Test")
+                .claim("ln", "User")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 86_400_000L))
+                .setHeaderParam(JwsHeader.KEY_ID, "k1")
+                .signWith(cachingVerifier.getCurrentKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String legacyValidateThenParse() {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Jwts.parserBuilder().setSigningKey(key).build().parse(token);
+        Key keyAgain = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder().setSigningKey(keyAgain).build()
+                .parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public Claims verifierSinglePass() {
+        return uncachedVerifier.verify(token);
+    }
+
+    @Benchmark
+    public Claims verifierCached() {
+        return cachingVerifier.verify(token);
+    }
+
+    @Benchmark
+    public boolean jwtUtilsValidate() {
+        return jwtUtils.validateJwtToken(token);
+    }
+}
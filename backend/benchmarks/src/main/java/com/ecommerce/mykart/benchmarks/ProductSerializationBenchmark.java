@@ -0,0 +1,48 @@
+package com.ecommerce.mykart.benchmarks;
+
+import com.ecommerce.mykart.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@link Product}, singly (product detail) and as the lists
+ * returned by the listing, search and category endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private Product product;
+    private List<Product> products;
+
+    @Setup
+    public void setup() {
+        ObjectMapper mapper = JsonMapper.builder().findAndAddModules().build();
+        writer = mapper.writer();
+        products = BenchmarkData.products(size);
+        product = products.get(0);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws Exception {
+        return writer.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] serializeProductList() throws Exception {
+        return writer.writeValueAsBytes(products);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.mykart.benchmarks;
+
+import com.ecommerce.mykart.model.Product;
+import com.ecommerce.mykart.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductService#sortProducts} over catalog-sized lists, as used by the
+ * sortBy/sortDirection parameters of the product endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSortBenchmark {
+
+    @Param({"10", "1000", "10000", "100000"})
+    private int size;
+
+    @Param({"price", "name"})
+    private String sortBy;
+
+    private ProductService productService;
+    private List<Product> products;
+
+    @Setup
+    public void setup() {
+        // sortProducts doesn't touch the repository
+        productService = new ProductService();
+        products = BenchmarkData.products(size);
+    }
+
+    @Benchmark
+    public List<Product> sortAscending() {
+        return productService.sortProducts(products, sortBy, "asc");
+    }
+
+    @Benchmark
+    public List<Product> sortDescending() {
+        return productService.sortProducts(products, sortBy, "desc");
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.mykart.benchmarks;
+
+import com.ecommerce.mykart.config.ShopJsonModule;
+import com.ecommerce.mykart.dto.CartDTO;
+import com.ecommerce.mykart.dto.OrderDTO;
+import com.ecommerce.mykart.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reflective bean serializers against {@link ShopJsonModule} for the listing, cart and order
+ * payloads. That both produce the same output is checked by ShopJsonModuleTest in the backend
+ * build, against committed golden JSON.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShopJsonBenchmark {
+
+    @Param({"reflective", "tuned"})
+    private String serializers;
+
+    @Param({"20", "100"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<Product> products;
+    private CartDTO cart;
+    private OrderDTO order;
+
+    @Setup
+    public void setup() {
+        writer = mapper("tuned".equals(serializers)).writer();
+
+        products = BenchmarkData.products(size);
+        cart = new CartDTO(BenchmarkData.cart(size));
+        order = new OrderDTO(BenchmarkData.order(size));
+    }
+
+    @Benchmark
+    public byte[] productList() throws Exception {
+        return writer.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] cart() throws Exception {
+        return writer.writeValueAsBytes(cart);
+    }
+
+    @Benchmark
+    public byte[] order() throws Exception {
+        return writer.writeValueAsBytes(order);
+    }
+
+    // Configured like Spring Boot's auto-configured ObjectMapper
+    private static ObjectMapper mapper(boolean tuned) {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (tuned) {
+            builder.addModule(new ShopJsonModule());
+        }
+        return builder.build();
+    }
+}
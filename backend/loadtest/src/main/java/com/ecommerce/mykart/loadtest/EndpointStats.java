@@ -0,0 +1,58 @@
+package com.ecommerce.mykart.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters for one endpoint. Safe to record from many threads.
+ */
+final class EndpointStats {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    final String name;
+    private final Recorder recorder = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long latencyNanos, int status) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        if (status == 429) {
+            throttled.increment();
+        } else if (status < 200 || status >= 400) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Requests that never got a response (timeout, connection refused). Counted as errors
+     * and recorded at the time they took to fail.
+     */
+    void recordFailure(long latencyNanos) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        errors.increment();
+    }
+
+    /**
+     * Drop everything recorded so far (end of warmup).
+     */
+    void reset() {
+        recorder.getIntervalHistogram();
+        errors.reset();
+        throttled.reset();
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(recorder.getIntervalHistogram(), errors.sum(), throttled.sum());
+    }
+
+    record Snapshot(Histogram histogram, long errors, long throttled) {
+    }
+}
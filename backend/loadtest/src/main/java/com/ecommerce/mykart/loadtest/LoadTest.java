@@ -0,0 +1,302 @@
+package com.ecommerce.mykart.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.File;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load test for the MyKart backend. Sessions arrive as a Poisson process at
+ * {@code --rate} per second whatever the response times, so a slow server builds up
+ * concurrent sessions instead of quietly lowering the load (coordinated omission). Each
+ * session plays one {@link Scenario} on its own virtual thread.
+ *
+ * Latency percentiles per endpoint, error and throttling rates are printed and written as
+ * JSON to {@code --out} for comparing builds.
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "LoadTest#2024";
+    private static final String[] SEARCH_TERMS = {"pro", "max", "smart", "classic", "ultra", "mini", "home"};
+
+    private final LoadTestConfig config;
+    private final ShopClient client;
+    private final List<Long> productIds = new ArrayList<>();
+    private final List<String> categories = new ArrayList<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Scenario, LongAdder> started = new EnumMap<>(Scenario.class);
+    // How late sessions were dispatched relative to their scheduled arrival
+    private final Recorder dispatchLag = new Recorder(TimeUnit.MINUTES.toNanos(2), 3);
+
+    private LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.client = new ShopClient(config.baseUrl, config.requestTimeout);
+        for (Scenario scenario : Scenario.values()) {
+            started.put(scenario, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        new LoadTest(config).run();
+    }
+
+    private void run() throws Exception {
+        prepare();
+
+        Scenario[] wheel = weightedScenarios();
+        Random random = new Random(config.seed);
+        long warmupNanos = config.warmup.toNanos();
+        long totalNanos = warmupNanos + config.duration.toNanos();
+        System.out.printf("Running %.1f sessions/s for %ds (+%ds warmup) against %s%n",
+                config.arrivalRate, config.duration.toSeconds(), config.warmup.toSeconds(), config.baseUrl);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        long start = System.nanoTime();
+        long nextArrival = start;
+        boolean warmedUp = warmupNanos == 0;
+        long measureStart = start;
+
+        while (nextArrival - start < totalNanos) {
+            long now = System.nanoTime();
+            if (!warmedUp && now - start >= warmupNanos) {
+                client.getStats().values().forEach(EndpointStats::reset);
+                started.values().forEach(LongAdder::reset);
+                dropped.reset();
+                dispatchLag.getIntervalHistogram();
+                measureStart = now;
+                warmedUp = true;
+            }
+            if (now < nextArrival) {
+                LockSupport.parkNanos(nextArrival - now);
+                continue;
+            }
+
+            long scheduledAt = nextArrival;
+            Scenario scenario = wheel[random.nextInt(wheel.length)];
+            long sessionSeed = random.nextLong();
+            if (inFlight.incrementAndGet() > config.maxConcurrentSessions) {
+                inFlight.decrementAndGet();
+                dropped.increment();
+            } else {
+                started.get(scenario).increment();
+                executor.execute(() -> {
+                    dispatchLag.recordValue(Math.max(0, System.nanoTime() - scheduledAt));
+                    try {
+                        runSession(scenario, new Random(sessionSeed));
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+
+            // Exponential inter-arrival times give a Poisson arrival process
+            double gapSeconds = -Math.log(1 - random.nextDouble()) / config.arrivalRate;
+            nextArrival += (long) (gapSeconds * 1_000_000_000L);
+        }
+
+        long measuredNanos = System.nanoTime() - measureStart;
+        executor.shutdown();
+        if (!executor.awaitTermination(config.requestTimeout.toSeconds() * 4, TimeUnit.SECONDS)) {
+            System.out.println("Some sessions were still running at the end of the test and were abandoned");
+            executor.shutdownNow();
+        }
+
+        report(measuredNanos / 1e9);
+    }
+
+    /**
+     * Load the catalog and make sure the checkout accounts exist.
+     */
+    private void prepare() {
+        ShopClient.Session session = new ShopClient.Session();
+        ShopClient.Response products = client.get(session, "setup", "/api/products");
+        if (!products.ok()) {
+            throw new IllegalStateException("Cannot load products from " + config.baseUrl + " (status " + products.status() + ")");
+        }
+        for (JsonNode product : client.parse(products)) {
+            productIds.add(product.get("id").asLong());
+            String category = product.path("category").asText(null);
+            if (category != null && !categories.contains(category)) {
+                categories.add(category);
+            }
+        }
+        if (productIds.isEmpty()) {
+            throw new IllegalStateException("The catalog is empty");
+        }
+
+        for (int i = 0; i < config.users; i++) {
+            // 400 "email already in use" on re-runs is expected
+            client.post(session, "setup", "/api/auth/signup", Map.of(
+                    "email", userEmail(i),
+                    "password", PASSWORD,
+                    "firstName", "Load",
+                    "lastName", "User" + i));
+        }
+        client.getStats().remove("setup");
+    }
+
+    private void runSession(Scenario scenario, Random random) {
+        ShopClient.Session session = new ShopClient.Session();
+        switch (scenario) {
+            case BROWSE -> {
+                client.get(session, "GET /api/products", "/api/products");
+                client.get(session, "GET /api/products/{id}", "/api/products/" + randomProduct(random));
+                client.get(session, "GET /api/products/{id}", "/api/products/" + randomProduct(random));
+            }
+            case SEARCH -> {
+                String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+                client.get(session, "GET /api/products/search", "/api/products/search?query=" + term);
+                if (!categories.isEmpty()) {
+                    String category = categories.get(random.nextInt(categories.size()));
+                    client.get(session, "GET /api/products/category/{category}",
+                            "/api/products/category/" + URLEncoder.encode(category, StandardCharsets.UTF_8).replace("+", "%20"));
+                }
+            }
+            case GUEST_CART -> {
+                long productId = randomProduct(random);
+                client.get(session, "GET /api/products/{id}", "/api/products/" + productId);
+                addToCart(session, productId, random);
+                addToCart(session, randomProduct(random), random);
+                client.get(session, "GET /api/cart/", "/api/cart/");
+            }
+            case CHECKOUT -> {
+                ShopClient.Response signin = client.post(session, "POST /api/auth/signin", "/api/auth/signin",
+                        Map.of("email", userEmail(random.nextInt(config.users)), "password", PASSWORD));
+                if (!signin.ok()) {
+                    return;
+                }
+                session.accessToken = client.parse(signin).path("token").asText(null);
+                int lines = 1 + random.nextInt(3);
+                for (int i = 0; i < lines; i++) {
+                    addToCart(session, randomProduct(random), random);
+                }
+                client.post(session, "POST /api/orders/checkout", "/api/orders/checkout", null);
+            }
+        }
+    }
+
+    private void addToCart(ShopClient.Session session, long productId, Random random) {
+        client.post(session, "POST /api/cart/items", "/api/cart/items?productId=" + productId
+                + "&quantity=" + (1 + random.nextInt(3)), null);
+    }
+
+    private long randomProduct(Random random) {
+        return productIds.get(random.nextInt(productIds.size()));
+    }
+
+    private static String userEmail(int i) {
+        return "loadtest-user-" + i + "@example.com";
+    }
+
+    private Scenario[] weightedScenarios() {
+        List<Scenario> wheel = new ArrayList<>();
+        config.mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(scenario);
+            }
+        });
+        if (wheel.isEmpty()) {
+            throw new IllegalArgumentException("The scenario mix is empty");
+        }
+        return wheel.toArray(new Scenario[0]);
+    }
+
+    private void report(double measuredSeconds) throws Exception {
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        ObjectNode result = mapper.createObjectNode();
+
+        ObjectNode configNode = result.putObject("config");
+        configNode.put("baseUrl", config.baseUrl);
+        configNode.put("arrivalRate", config.arrivalRate);
+        configNode.put("durationSeconds", config.duration.toSeconds());
+        configNode.put("warmupSeconds", config.warmup.toSeconds());
+        configNode.put("users", config.users);
+        configNode.put("seed", config.seed);
+        ObjectNode mixNode = configNode.putObject("mix");
+        config.mix.forEach((scenario, weight) -> mixNode.put(scenario.name().toLowerCase(), weight));
+        result.put("measuredSeconds", measuredSeconds);
+
+        ObjectNode sessions = result.putObject("sessions");
+        started.forEach((scenario, count) -> sessions.put(scenario.name().toLowerCase(), count.sum()));
+        sessions.put("dropped", dropped.sum());
+        latency(sessions.putObject("dispatchLagMs"), dispatchLag.getIntervalHistogram());
+
+        System.out.printf("%n%-40s %8s %8s %7s %7s %9s %9s %9s %9s%n",
+                "endpoint", "count", "rps", "err%", "429%", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        ObjectNode endpoints = result.putObject("endpoints");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        Map<String, EndpointStats> sorted = new TreeMap<>(client.getStats());
+        for (EndpointStats stats : sorted.values()) {
+            EndpointStats.Snapshot snapshot = stats.snapshot();
+            Histogram histogram = snapshot.histogram();
+            long count = histogram.getTotalCount();
+            total.add(histogram);
+            totalErrors += snapshot.errors();
+
+            ObjectNode node = endpoints.putObject(stats.name);
+            node.put("count", count);
+            node.put("throughputPerSecond", count / measuredSeconds);
+            node.put("errors", snapshot.errors());
+            node.put("errorRate", count > 0 ? (double) snapshot.errors() / count : 0);
+            node.put("throttled", snapshot.throttled());
+            latency(node.putObject("latencyMs"), histogram);
+
+            System.out.printf("%-40s %8d %8.1f %6.2f%% %6.2f%% %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.name, count, count / measuredSeconds,
+                    count > 0 ? 100.0 * snapshot.errors() / count : 0,
+                    count > 0 ? 100.0 * snapshot.throttled() / count : 0,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()));
+        }
+
+        ObjectNode totals = result.putObject("totals");
+        totals.put("count", total.getTotalCount());
+        totals.put("throughputPerSecond", total.getTotalCount() / measuredSeconds);
+        totals.put("errors", totalErrors);
+        totals.put("errorRate", total.getTotalCount() > 0 ? (double) totalErrors / total.getTotalCount() : 0);
+        latency(totals.putObject("latencyMs"), total);
+
+        System.out.printf("%nSessions dropped (over --max-sessions): %d%n", dropped.sum());
+        File output = new File(config.output);
+        if (output.getParentFile() != null) {
+            output.getParentFile().mkdirs();
+        }
+        mapper.writeValue(output, result);
+        System.out.println("Results written to " + output);
+    }
+
+    private static void latency(ObjectNode node, Histogram histogram) {
+        node.put("p50", millis(histogram.getValueAtPercentile(50)));
+        node.put("p90", millis(histogram.getValueAtPercentile(90)));
+        node.put("p99", millis(histogram.getValueAtPercentile(99)));
+        node.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        node.put("max", millis(histogram.getMaxValue()));
+        node.put("mean", histogram.getMean() / 1e6);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
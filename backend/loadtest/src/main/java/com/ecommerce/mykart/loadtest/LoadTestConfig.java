@@ -0,0 +1,64 @@
+package com.ecommerce.mykart.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command-line options. Every option has a default, so {@code java -jar target/loadtest.jar}
+ * runs a short mixed test against a local backend.
+ */
+final class LoadTestConfig {
+
+    String baseUrl = "http://localhost:8082";
+    // New user sessions started per second, independent of how fast the app responds
+    double arrivalRate = 20;
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmup = Duration.ofSeconds(10);
+    // Registered accounts shared by the checkout sessions
+    int users = 50;
+    int maxConcurrentSessions = 5_000;
+    Duration requestTimeout = Duration.ofSeconds(10);
+    long seed = 42;
+    String output = "target/loadtest-result.json";
+    Map<Scenario, Integer> mix = new LinkedHashMap<>();
+
+    LoadTestConfig() {
+        mix.put(Scenario.BROWSE, 50);
+        mix.put(Scenario.SEARCH, 25);
+        mix.put(Scenario.GUEST_CART, 15);
+        mix.put(Scenario.CHECKOUT, 10);
+    }
+
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--base-url" -> config.baseUrl = value;
+                case "--rate" -> config.arrivalRate = Double.parseDouble(value);
+                case "--duration" -> config.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "--warmup" -> config.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "--users" -> config.users = Integer.parseInt(value);
+                case "--max-sessions" -> config.maxConcurrentSessions = Integer.parseInt(value);
+                case "--timeout" -> config.requestTimeout = Duration.ofSeconds(Long.parseLong(value));
+                case "--seed" -> config.seed = Long.parseLong(value);
+                case "--out" -> config.output = value;
+                case "--mix" -> config.mix = parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+            i++;
+        }
+        return config;
+    }
+
+    // browse=50,search=25,guest_cart=15,checkout=10
+    private static Map<Scenario, Integer> parseMix(String value) {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.split("=");
+            mix.put(Scenario.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.mykart.loadtest;
+
+/**
+ * User journeys the harness mixes together; weights come from {@code --mix}.
+ */
+enum Scenario {
+    /** Anonymous visitor: product listing, then a couple of product pages. */
+    BROWSE,
+    /** Anonymous visitor: a name search and a category page. */
+    SEARCH,
+    /** Anonymous visitor adding items to a guest cart and viewing it. */
+    GUEST_CART,
+    /** Registered user: sign in, fill the cart and check out. */
+    CHECKOUT
+}
@@ -0,0 +1,120 @@
+package com.ecommerce.mykart.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thin HTTP client for the MyKart API that times every call and files it under a
+ * low-cardinality endpoint name (e.g. {@code GET /api/products/{id}}).
+ */
+final class ShopClient {
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    ShopClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * Cookies and access token of one simulated visitor.
+     */
+    static final class Session {
+        String guestCookie;
+        String accessToken;
+    }
+
+    record Response(int status, String body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    Map<String, EndpointStats> getStats() {
+        return stats;
+    }
+
+    Response get(Session session, String endpoint, String path) {
+        return send(session, endpoint, request(session, path).GET());
+    }
+
+    Response post(Session session, String endpoint, String path, Object jsonBody) {
+        HttpRequest.Builder builder = request(session, path);
+        if (jsonBody != null) {
+            builder.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(toJson(jsonBody)));
+        } else {
+            builder.POST(HttpRequest.BodyPublishers.noBody());
+        }
+        return send(session, endpoint, builder);
+    }
+
+    JsonNode parse(Response response) {
+        try {
+            return mapper.readTree(response.body());
+        } catch (IOException e) {
+            return mapper.missingNode();
+        }
+    }
+
+    private HttpRequest.Builder request(Session session, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (session.accessToken != null) {
+            builder.header("Authorization", "Bearer " + session.accessToken);
+        }
+        if (session.guestCookie != null) {
+            builder.header("Cookie", "guestIdentifier=" + session.guestCookie);
+        }
+        return builder;
+    }
+
+    private Response send(Session session, String endpoint, HttpRequest.Builder builder) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, EndpointStats::new);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            endpointStats.record(System.nanoTime() - start, response.statusCode());
+            response.headers().allValues("Set-Cookie").forEach(cookie -> {
+                if (cookie.startsWith("guestIdentifier=")) {
+                    int end = cookie.indexOf(';');
+                    session.guestCookie = cookie.substring("guestIdentifier=".length(), end > 0 ? end : cookie.length());
+                }
+            });
+            return new Response(response.statusCode(), response.body());
+        } catch (IOException e) {
+            endpointStats.recordFailure(System.nanoTime() - start);
+            return new Response(-1, "");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            endpointStats.recordFailure(System.nanoTime() - start);
+            return new Response(-1, "");
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return mapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
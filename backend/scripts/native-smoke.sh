@@ -0,0 +1,113 @@
+#!/usr/bin/env bash
+# Smoke-tests the native executable against a local database: starts target/mykart, then
+# exercises auth (jjwt + Spring Security), products (JPA + second-level cache), the catalog
+# (Reactor), guest and user carts (lazy associations), checkout and the actuator endpoints.
+# Hot reads also have SQL statement budgets, checked through the X-SQL-* headers.
+#
+#   mvn -Pnative native:compile && ./scripts/native-smoke.sh
+#   BINARY=target/mykart PORT=8082 DB_URL=jdbc:mysql://... ./scripts/native-smoke.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+BINARY="${BINARY:-target/mykart}"
+PORT="${PORT:-18082}"
+BASE="http://localhost:$PORT"
+WORK=$(mktemp -d)
+FAILURES=0
+
+"$BINARY" --server.port="$PORT" --ratelimit.enabled=false --sql-stats.headers.enabled=true \
+    > "$WORK/app.log" 2>&1 &
+APP_PID=$!
+trap 'kill $APP_PID 2>/dev/null || true; rm -rf "$WORK"' EXIT
+
+for _ in $(seq 1 300); do
+    if curl -fs "$BASE/actuator/health" > /dev/null 2>&1; then
+        break
+    fi
+    if ! kill -0 "$APP_PID" 2>/dev/null; then
+        cat "$WORK/app.log" >&2
+        echo "Native binary exited during startup" >&2
+        exit 1
+    fi
+    sleep 0.1
+done
+grep -o "Ready in [0-9]* ms.*" "$WORK/app.log" || true
+echo "RSS after startup: $(ps -o rss= -p "$APP_PID") KB"
+
+# check <name> <expected status> <curl args...>; the body and headers are left in $WORK
+check() {
+    local name=$1 expected=$2
+    shift 2
+    local status
+    status=$(curl -s -o "$WORK/body" -D "$WORK/headers" -w '%{http_code}' \
+        -b "$WORK/cookies" -c "$WORK/cookies" "$@")
+    if [ "$status" = "$expected" ]; then
+        echo "PASS $name"
+    else
+        echo "FAIL $name: expected $expected, got $status: $(head -c 300 "$WORK/body")"
+        FAILURES=$((FAILURES + 1))
+    fi
+}
+
+# budget <max statements>: the previous check ran at most that many SQL statements and no N+1
+budget() {
+    local statements repeated
+    statements=$(tr -d '\r' < "$WORK/headers" | sed -n 's/^[Xx]-[Ss][Qq][Ll]-[Ss]tatements: //p')
+    repeated=$(tr -d '\r' < "$WORK/headers" | sed -n 's/^[Xx]-[Ss][Qq][Ll]-[Rr]epeated-[Ss]hapes: //p')
+    if [ -z "$statements" ]; then
+        echo "FAIL budget: no X-SQL-Statements header"
+        FAILURES=$((FAILURES + 1))
+    elif [ "$statements" -gt "$1" ] || [ -n "$repeated" ]; then
+        echo "FAIL budget: $statements statements (max $1), ${repeated:-0} repeated shapes"
+        FAILURES=$((FAILURES + 1))
+    else
+        echo "PASS budget: $statements statements (max $1)"
+    fi
+}
+
+json_field() {
+    sed -n "s/.*\"$1\":\"\\{0,1\\}\\([^\",}]*\\).*/\\1/p" "$WORK/body" | head -1
+}
+
+EMAIL="smoke-$(date +%s)-$$@example.com"
+
+check "health" 200 "$BASE/actuator/health"
+check "prometheus" 200 "$BASE/actuator/prometheus"
+check "list products" 200 "$BASE/api/products"
+PRODUCT_ID=$(json_field id)
+check "get product" 200 "$BASE/api/products/$PRODUCT_ID"
+check "get product (cached)" 200 "$BASE/api/products/$PRODUCT_ID"
+budget 0
+check "search products" 200 "$BASE/api/products/search?query=phone"
+check "products by category" 200 "$BASE/api/products/category/Electronics"
+check "catalog ndjson" 200 -H "Accept: application/x-ndjson" "$BASE/api/catalog/products"
+
+check "guest add to cart" 200 -X POST "$BASE/api/cart/items?productId=$PRODUCT_ID&quantity=2"
+check "guest cart" 200 "$BASE/api/cart/"
+budget 2
+
+check "signup" 200 -H "Content-Type: application/json" \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"smoke-pass\",\"firstName\":\"Smoke\",\"lastName\":\"Test\"}" \
+    "$BASE/api/auth/signup"
+check "signin" 200 -H "Content-Type: application/json" \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"smoke-pass\"}" "$BASE/api/auth/signin"
+TOKEN=$(json_field token)
+REFRESH=$(json_field refreshToken)
+AUTH=(-H "Authorization: Bearer $TOKEN")
+
+check "unauthenticated orders" 401 "$BASE/api/orders"
+check "user add to cart" 200 "${AUTH[@]}" -X POST "$BASE/api/cart/items?productId=$PRODUCT_ID&quantity=1"
+check "user cart" 200 "${AUTH[@]}" "$BASE/api/cart/"
+budget 3
+check "checkout" 200 "${AUTH[@]}" -X POST "$BASE/api/orders/checkout"
+check "order history" 200 "${AUTH[@]}" "$BASE/api/orders"
+budget 2
+check "refresh token" 200 -H "Content-Type: application/json" \
+    -d "{\"refreshToken\":\"$REFRESH\"}" "$BASE/api/auth/refresh"
+
+if [ "$FAILURES" -gt 0 ]; then
+    echo "$FAILURES smoke checks failed; application log:"
+    tail -n 100 "$WORK/app.log"
+    exit 1
+fi
+echo "All smoke checks passed"
@@ -0,0 +1,62 @@
+#!/usr/bin/env bash
+# Builds an AppCDS archive for the fast-startup profile and reports startup times with and
+# without it. Needs a reachable database (DB_URL etc.), like a normal start.
+#
+#   ./scripts/startup-cds.sh            # package, train, then time 5 starts of each
+#   RUNS=10 ./scripts/startup-cds.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${RUNS:-5}"
+APP_DIR=target/app
+JAR="$APP_DIR/mykart-0.0.1-SNAPSHOT-exec.jar"
+ARCHIVE="$APP_DIR/application.jsa"
+export SPRING_PROFILES_ACTIVE="${SPRING_PROFILES_ACTIVE:-fast-startup}"
+
+mvn -B -q -DskipTests package
+
+# CDS only maps classes loaded from plain jars on the class path, not from nested boot jars
+rm -rf "$APP_DIR"
+java -Djarmode=tools -jar target/mykart-0.0.1-SNAPSHOT-exec.jar extract --destination "$APP_DIR"
+
+# Training run: refresh the context (loading every eager bean's classes) and exit
+java -XX:ArchiveClassesAtExit="$ARCHIVE" -Dspring.context.exit=onRefresh -jar "$JAR" > "$APP_DIR/training.log"
+echo "Archive written to $ARCHIVE"
+
+# Start the app, wait until it logs that it is ready, then stop it
+time_start() {
+    local log
+    log=$(mktemp)
+    java "$@" -jar "$JAR" > "$log" 2>&1 &
+    local pid=$!
+    for _ in $(seq 1 600); do
+        if grep -q "Ready in" "$log"; then
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null; then
+            cat "$log" >&2
+            echo "Application exited before it was ready" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    grep -o "Ready in [0-9]* ms" "$log" | grep -o "[0-9]*"
+    rm -f "$log"
+}
+
+report() {
+    local label=$1
+    shift
+    local times=()
+    for _ in $(seq 1 "$RUNS"); do
+        times+=("$(time_start "$@")")
+    done
+    printf '%s\n' "${times[@]}" | sort -n | awk -v label="$label" '
+        { t[NR] = $1; sum += $1 }
+        END { printf "%-10s runs=%d min=%dms median=%dms mean=%dms\n", label, NR, t[1], t[int((NR + 1) / 2)], sum / NR }'
+}
+
+report "no-cds" -Xshare:auto
+report "appcds" -XX:SharedArchiveFile="$ARCHIVE"
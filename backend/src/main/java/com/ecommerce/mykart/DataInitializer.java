@@ -1,37 +1,84 @@
 package com.ecommerce.mykart;
 
 import com.ecommerce.mykart.model.Product;
-import com.ecommerce.mykart.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
+/**
+ * Seeds the sample catalog into an empty products table with one multi-row insert.
+ * Instances starting together serialize on a named MySQL lock, so only one of them seeds.
+ */
 @Component
 public class DataInitializer implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
+
+    private static final String SEED_LOCK = "mykart.seed-products";
+    private static final String INSERT_PREFIX = "INSERT INTO products (name, description, price, category, image_url, " +
+            "stock_quantity, brand, model, warranty, rating, discount_percentage) VALUES ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @Autowired
-    private ProductRepository productRepository;
+    private PlatformTransactionManager transactionManager;
 
     @Override
     public void run(String... args) throws Exception {
-        // Check if products already exist
-        long productCount = productRepository.count();
-        System.out.println("Current product count in database: " + productCount);
-        
-        if (productCount == 0) {
-            // Create 100 sample products with realistic data
-            List<Product> products = createSampleProducts();
-            productRepository.saveAll(products);
-            System.out.println("Added " + products.size() + " sample products to the database.");
-            System.out.println("New product count in database: " + productRepository.count());
+        // One transaction so the lock, the check and the insert share a connection
+        Integer seeded = new TransactionTemplate(transactionManager).execute(status -> {
+            Integer locked = jdbcTemplate.queryForObject("SELECT GET_LOCK(?, 30)", Integer.class, SEED_LOCK);
+            if (locked == null || locked != 1) {
+                logger.warn("Could not acquire the seed lock; skipping sample data initialization");
+                return 0;
+            }
+            try {
+                Boolean hasProducts = jdbcTemplate.queryForObject(
+                        "SELECT EXISTS(SELECT 1 FROM products)", Boolean.class);
+                if (Boolean.TRUE.equals(hasProducts)) {
+                    return 0;
+                }
+                return insertProducts(createSampleProducts());
+            } finally {
+                jdbcTemplate.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, SEED_LOCK);
+            }
+        });
+
+        if (seeded != null && seeded > 0) {
+            logger.info("Added {} sample products to the database.", seeded);
         } else {
-            System.out.println("Products already exist in database. Skipping initialization.");
+            logger.debug("Products already exist in database. Skipping initialization.");
+        }
+    }
+
+    private int insertProducts(List<Product> products) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(products.size() * 11);
+        for (Product product : products) {
+            sql.append(args.isEmpty() ? "(?,?,?,?,?,?,?,?,?,?,?)" : ",(?,?,?,?,?,?,?,?,?,?,?)");
+            args.add(product.getName());
+            args.add(product.getDescription());
+            args.add(product.getPrice());
+            args.add(product.getCategory());
+            args.add(product.getImageUrl());
+            args.add(product.getStockQuantity());
+            args.add(product.getBrand());
+            args.add(product.getModel());
+            args.add(product.getWarranty());
+            args.add(product.getRating());
+            args.add(product.getDiscountPercentage());
         }
+        return jdbcTemplate.update(sql.toString(), args.toArray());
     }
 
     private List<Product> createSampleProducts() {
@@ -0,0 +1,133 @@
+package com.ecommerce.mykart.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes exactly one structured (JSON) access-log record per request: route, status,
+ * latency, user or guest and the SQL it ran (statements, rows, JDBC time). A configurable fraction of requests is
+ * marked as sampled in the MDC, which lets the application's DEBUG output for them through
+ * (see SampledDebugTurboFilter).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+    private static final Logger accessLog = LoggerFactory.getLogger("ACCESS");
+
+    // Set by AuthTokenFilter once the request is authenticated
+    public static final String USER_ID_ATTRIBUTE = "mykart.userId";
+    public static final String MDC_SAMPLED = "sampled";
+
+    @Value("${logging.sampling.debug-rate:0.0}")
+    private double debugSampleRate;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean sampled = debugSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < debugSampleRate;
+        if (sampled) {
+            MDC.put(MDC_SAMPLED, "true");
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // The response is written later (e.g. CompletableFuture controllers); log once it completes
+                SqlRequestStats sqlStats = sqlStats(request);
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        log(request, response, start, sqlStats);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                log(request, response, start, sqlStats(request));
+            }
+            if (sampled) {
+                MDC.remove(MDC_SAMPLED);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response, long start, SqlRequestStats sqlStats) {
+        if (accessLog.isInfoEnabled()) {
+            accessLog.info(buildRecord(request, response, System.nanoTime() - start, sqlStats));
+        }
+    }
+
+    // Left by SqlStatsFilter, which runs just inside this filter
+    private static SqlRequestStats sqlStats(HttpServletRequest request) {
+        return (SqlRequestStats) request.getAttribute(SqlStatsFilter.STATS_ATTRIBUTE);
+    }
+
+    private String buildRecord(HttpServletRequest request, HttpServletResponse response, long elapsedNanos,
+                               SqlRequestStats sqlStats) {
+        // Prefer the matched pattern (/api/orders/{orderId}) over the raw URI to keep routes low-cardinality
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : request.getRequestURI();
+        Object userId = request.getAttribute(USER_ID_ATTRIBUTE);
+
+        StringBuilder record = new StringBuilder(160);
+        record.append("{\"method\":\"").append(request.getMethod())
+                .append("\",\"route\":\"");
+        appendEscaped(record, route);
+        record.append("\",\"status\":").append(response.getStatus())
+                .append(",\"latencyMs\":").append(elapsedNanos / 1_000_000.0)
+                .append(",\"user\":");
+        if (userId != null) {
+            record.append(userId);
+        } else {
+            record.append("\"guest\"");
+        }
+        if (sqlStats != null) {
+            record.append(",\"sqlCount\":").append(sqlStats.getStatements())
+                    .append(",\"sqlRows\":").append(sqlStats.getRows())
+                    .append(",\"sqlMs\":").append(sqlStats.getNanos() / 1_000_000.0);
+        }
+        record.append('}');
+        return record.toString();
+    }
+
+    private static void appendEscaped(StringBuilder target, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                target.append('\\').append(c);
+            } else if (c < 0x20) {
+                target.append(' ');
+            } else {
+                target.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.mykart.config;
+
+import com.ecommerce.mykart.dto.MessageResponse;
+import com.ecommerce.mykart.service.AdmissionControlService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link AdmissionControlService} to add-to-cart and checkout before the
+ * controllers run, answering 429 with a Retry-After header when over the limit.
+ */
+@Component
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlInterceptor.class);
+
+    @Autowired
+    private AdmissionControlService admissionControlService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!admissionControlService.isEnabled() || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        long waitNanos;
+        if (path.equals("/api/cart/items")) {
+            waitNanos = admissionControlService.admitAddToCart(parseProductId(request.getParameter("productId")));
+        } else if (path.equals("/api/orders/checkout")) {
+            waitNanos = admissionControlService.admitCheckout();
+        } else {
+            return true;
+        }
+
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        logger.debug("Admission rejected for {} - retry after {}s", path, retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new MessageResponse("Too many requests, please retry in " + retryAfterSeconds + " seconds"));
+        return false;
+    }
+
+    private Long parseProductId(String value) {
+        try {
+            return value != null ? Long.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.ecommerce.mykart.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the application DataSource. With no replicas configured this is the usual Hikari
+ * pool on {@code spring.datasource.*}; with {@code datasource.replicas.urls} set, read-only
+ * transactions are routed to the replicas by {@link ReplicaRoutingDataSource}. Either way the
+ * result is wrapped in an {@link InstrumentedDataSource} unless sql-stats.enabled is false.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Value("${datasource.replicas.urls:}")
+    private String replicaUrls;
+
+    @Value("${datasource.replicas.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${datasource.replicas.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${datasource.replicas.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int replicaPoolSize;
+
+    @Value("${datasource.replicas.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Value("${datasource.replicas.sticky-ms:5000}")
+    private long stickyMs;
+
+    @Value("${datasource.replicas.health-check-ms:5000}")
+    private long healthCheckMs;
+
+    @Value("${sql-stats.enabled:true}")
+    private boolean instrumented;
+
+    private final List<HikariDataSource> replicaPools = new ArrayList<>();
+    private ReplicaRoutingDataSource routingDataSource;
+    private HikariDataSource primaryPool;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 ObjectProvider<InstrumentedDataSource.StatementListener> statementListeners) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<String> urls = new ArrayList<>();
+        for (String url : replicaUrls.split(",")) {
+            if (!url.isBlank()) {
+                urls.add(url.trim());
+            }
+        }
+        if (urls.isEmpty()) {
+            return instrument(primary, statementListeners);
+        }
+        primaryPool = primary;
+
+        // Boot only instruments a Hikari pool exposed directly as the DataSource bean, so
+        // register the pools behind the router ourselves
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(urls.get(i));
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setDriverClassName(properties.getDriverClassName());
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setConnectionTimeout(primary.getConnectionTimeout());
+            replica.setReadOnly(true);
+            // Don't fail startup if a replica is down; the health check keeps it out of rotation
+            replica.setInitializationFailTimeout(-1);
+            if (registry != null) {
+                replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+            replicaPools.add(replica);
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, maxLagSeconds, stickyMs, healthCheckMs);
+        routingDataSource.afterPropertiesSet();
+        return instrument(new LazyConnectionDataSourceProxy(routingDataSource), statementListeners);
+    }
+
+    private DataSource instrument(DataSource dataSource,
+                                  ObjectProvider<InstrumentedDataSource.StatementListener> statementListeners) {
+        return instrumented ? new InstrumentedDataSource(dataSource, statementListeners) : dataSource;
+    }
+
+    /**
+     * Health and lag of each replica; empty when no replicas are configured.
+     */
+    public Map<String, Map<String, Object>> getReplicaStatus() {
+        return routingDataSource != null ? routingDataSource.getReplicaStatus() : Map.of();
+    }
+
+    /**
+     * Read-your-writes for writes made off the user's request thread; a no-op without replicas.
+     */
+    public void markWritten(Long userId) {
+        if (routingDataSource != null) {
+            routingDataSource.markWritten(userId);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (routingDataSource != null) {
+            routingDataSource.shutdown();
+        }
+        replicaPools.forEach(HikariDataSource::close);
+        if (primaryPool != null) {
+            primaryPool.close();
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.ecommerce.mykart.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Wraps the application DataSource so every statement, from Hibernate, JdbcTemplate or Flyway,
+ * is timed and its rows counted. Each finished execution is handed to the
+ * {@link StatementListener} beans on the executing thread.
+ *
+ * An execution finishes when its update count is returned, or, for queries, when the result
+ * set is closed; its time covers both executing and fetching. Bind parameters set on prepared
+ * statements are carried along for listeners that need to re-run the statement (EXPLAIN).
+ */
+public class InstrumentedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public interface StatementListener {
+        void statementExecuted(StatementExecution execution);
+    }
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern REPEATED_ROWS = Pattern.compile("\\(\\?\\)(?:\\s*,\\s*\\(\\?\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Object[] NO_PARAMETERS = new Object[0];
+    private static final String[] NO_SETTERS = new String[0];
+    // Multi-row inserts can bind thousands of values; nobody needs all of them
+    private static final int MAX_TRACKED_PARAMETERS = 64;
+
+    private final ObjectProvider<StatementListener> listenerProvider;
+    private volatile List<StatementListener> listeners;
+
+    public InstrumentedDataSource(DataSource target, ObjectProvider<StatementListener> listenerProvider) {
+        super(target);
+        this.listenerProvider = listenerProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * The statement with literals replaced by {@code ?}, IN lists and multi-row VALUES
+     * collapsed and whitespace normalized, so executions of the same query compare equal.
+     */
+    public static String shapeOf(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PLACEHOLDER_LIST.matcher(shape).replaceAll("(?)");
+        shape = REPEATED_ROWS.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private List<StatementListener> listeners() {
+        List<StatementListener> current = listeners;
+        if (current == null) {
+            // Resolved on first use: listeners may themselves need this DataSource
+            current = listenerProvider.orderedStream().toList();
+            listeners = current;
+        }
+        return current;
+    }
+
+    private void publish(StatementExecution execution) {
+        for (StatementListener listener : listeners()) {
+            listener.statementExecuted(execution);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {type},
+                        new StatementHandler(statement, sql, (Connection) proxy));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final Connection connection;
+        private final String preparedSql;
+        private StatementExecution pending;
+        // Bind parameters by index (1-based) and the setter that supplied them
+        private Object[] parameters = NO_PARAMETERS;
+        private String[] setters = NO_SETTERS;
+        private int parameterCount;
+
+        StatementHandler(Statement target, String preparedSql, Connection connection) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    return connection;
+                case "close":
+                    finishPending();
+                    return InstrumentedDataSource.invoke(target, method, args);
+                case "getResultSet":
+                    ResultSet current = (ResultSet) InstrumentedDataSource.invoke(target, method, args);
+                    return current != null && pending != null ? wrapResultSet(current, pending) : current;
+                case "clearParameters":
+                    parameterCount = 0;
+                    return InstrumentedDataSource.invoke(target, method, args);
+                default:
+                    break;
+            }
+            if (!name.startsWith("execute")) {
+                if (preparedSql != null && name.startsWith("set") && args != null && args.length >= 2
+                        && args[0] instanceof Integer index) {
+                    recordParameter(index, name, args[1]);
+                }
+                return InstrumentedDataSource.invoke(target, method, args);
+            }
+
+            finishPending();
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            StatementExecution execution = parameterCount > 0
+                    ? new StatementExecution(sql, Arrays.copyOf(parameters, parameterCount),
+                            Arrays.copyOf(setters, parameterCount))
+                    : new StatementExecution(sql, NO_PARAMETERS, NO_SETTERS);
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = InstrumentedDataSource.invoke(target, method, args);
+            } finally {
+                execution.addNanos(System.nanoTime() - start);
+            }
+
+            if (result instanceof ResultSet resultSet) {
+                pending = execution;
+                return wrapResultSet(resultSet, execution);
+            }
+            if (result instanceof Boolean isQuery && isQuery) {
+                // Rows are counted once the caller reads getResultSet()
+                pending = execution;
+                return result;
+            }
+            execution.addRows(updateCount(result));
+            publish(execution);
+            return result;
+        }
+
+        private void recordParameter(int index, String setter, Object value) {
+            if (index < 1 || index > MAX_TRACKED_PARAMETERS) {
+                return;
+            }
+            if (index > parameters.length) {
+                int capacity = Math.min(MAX_TRACKED_PARAMETERS, Math.max(index, parameters.length * 2));
+                parameters = Arrays.copyOf(parameters, capacity);
+                setters = Arrays.copyOf(setters, capacity);
+            }
+            parameters[index - 1] = value;
+            setters[index - 1] = setter;
+            parameterCount = Math.max(parameterCount, index);
+        }
+
+        private void finishPending() {
+            if (pending != null) {
+                StatementExecution finished = pending;
+                pending = null;
+                publish(finished);
+            }
+        }
+
+        private ResultSet wrapResultSet(ResultSet resultSet, StatementExecution execution) {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[] {ResultSet.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "next":
+                                long start = System.nanoTime();
+                                Object hasRow = InstrumentedDataSource.invoke(resultSet, method, args);
+                                execution.addNanos(System.nanoTime() - start);
+                                if (Boolean.TRUE.equals(hasRow)) {
+                                    execution.addRows(1);
+                                }
+                                return hasRow;
+                            case "close":
+                                Object closed = InstrumentedDataSource.invoke(resultSet, method, args);
+                                if (pending == execution) {
+                                    finishPending();
+                                }
+                                return closed;
+                            default:
+                                return InstrumentedDataSource.invoke(resultSet, method, args);
+                        }
+                    });
+        }
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof Long count) {
+            return Math.max(count, 0);
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * One executed statement: its SQL, time spent executing and fetching, and rows read or changed.
+     */
+    public static class StatementExecution {
+        private final String sql;
+        private final Object[] parameters;
+        private final String[] setters;
+        private String shape;
+        private long nanos;
+        private long rows;
+
+        StatementExecution(String sql, Object[] parameters, String[] setters) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.setters = setters;
+        }
+
+        void addNanos(long elapsed) {
+            nanos += elapsed;
+        }
+
+        void addRows(long count) {
+            rows += count;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public String getShape() {
+            if (shape == null) {
+                shape = shapeOf(sql);
+            }
+            return shape;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * Bind values by position, for re-running the statement; null where a parameter was
+         * never set or is beyond the tracked range.
+         */
+        public Object[] getParameters() {
+            return parameters;
+        }
+
+        /**
+         * The JDBC type of each bind parameter as given by its setter (Long, String, Timestamp,
+         * Null...), without the values themselves.
+         */
+        public String[] getParameterTypes() {
+            String[] types = new String[setters.length];
+            for (int i = 0; i < setters.length; i++) {
+                if (setters[i] == null) {
+                    types[i] = "?";
+                } else if ("setObject".equals(setters[i]) && parameters[i] != null) {
+                    types[i] = parameters[i].getClass().getSimpleName();
+                } else {
+                    types[i] = setters[i].substring(3);
+                }
+            }
+            return types;
+        }
+    }
+}
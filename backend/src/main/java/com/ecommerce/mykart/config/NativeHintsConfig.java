@@ -0,0 +1,85 @@
+package com.ecommerce.mykart.config;
+
+import com.ecommerce.mykart.dto.*;
+import com.ecommerce.mykart.model.*;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Reflection and resource hints for the native image (mvn -Pnative native:compile).
+ * Spring AOT covers the beans, repositories and entity metadata; this adds what it cannot
+ * infer: types serialized from {@code ResponseEntity<?>} handlers, classes that libraries
+ * load by name, and resources read at runtime. Ignored on the JVM.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.Hints.class)
+@RegisterReflectionForBinding({
+        Product.class, Cart.class, CartItem.class, Order.class, OrderItem.class, User.class,
+        SalesDailyCategory.class, CartDTO.class, CartItemDTO.class, OrderDTO.class, OrderItemDTO.class,
+        OrderPageDTO.class, OrderSummaryDTO.class, ProductResponse.class, ProductSalesDTO.class,
+        JwtResponse.class, MessageResponse.class, LoginRequest.class, SignupRequest.class,
+        TokenRefreshRequest.class })
+public class NativeHintsConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        // jjwt-api instantiates its implementation classes by name
+        private static final String[] JJWT_IMPL_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+                "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+        };
+
+        // Named in Hibernate properties, so only created reflectively
+        private static final String[] HIBERNATE_PLUGGABLE_TYPES = {
+                "org.ehcache.jsr107.EhcacheCachingProvider",
+                "org.hibernate.cache.jcache.internal.JCacheRegionFactory",
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_IMPL_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            for (String type : HIBERNATE_PLUGGABLE_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+
+            // Instantiated and configured by logback from logback-spring.xml
+            hints.reflection().registerType(SampledDebugTurboFilter.class,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            // InstrumentedDataSource wraps JDBC objects in JDK proxies
+            for (Class<?> jdbcType : new Class<?>[] {Connection.class, Statement.class, PreparedStatement.class,
+                    CallableStatement.class, ResultSet.class}) {
+                hints.proxies().registerJdkProxy(jdbcType);
+            }
+
+            // jjwt finds its JSON serializer through ServiceLoader
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+            hints.resources().registerPattern("META-INF/services/javax.cache.spi.CachingProvider");
+            hints.resources().registerPattern("ehcache.xml");
+            hints.resources().registerPattern("db/migration/*.sql");
+        }
+    }
+}
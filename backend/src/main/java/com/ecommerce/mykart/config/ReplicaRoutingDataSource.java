@@ -0,0 +1,221 @@
+package com.ecommerce.mykart.config;
+
+import com.ecommerce.mykart.security.UserDetailsImpl;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica (round robin) and everything else to the
+ * primary. Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the connection is only fetched once the transaction's read-only flag is known.
+ *
+ * Replicas are checked in the background; one that is unreachable, has replication stopped or
+ * lags by more than {@code maxLagSeconds} is skipped until it recovers. A client (user id or
+ * guest cart cookie) that has just run a write transaction keeps reading from the primary for
+ * {@code stickyMs}, so it sees its own writes.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    private static final String GUEST_COOKIE = "guestIdentifier";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagSeconds;
+    private final long stickyMs;
+    private final long healthCheckMs;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ConcurrentHashMap<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources,
+                                    long maxLagSeconds, long stickyMs, long healthCheckMs) {
+        this.maxLagSeconds = maxLagSeconds;
+        this.stickyMs = stickyMs;
+        this.healthCheckMs = healthCheckMs;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicaDataSources.forEach((name, dataSource) -> {
+            targets.put(name, dataSource);
+            replicas.add(new Replica(name, dataSource));
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, healthCheckMs, healthCheckMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+    }
+
+    /**
+     * Keep a user on the primary for stickyMs, for writes made on their behalf on another
+     * thread (batched checkouts), where the user's request context is not available.
+     */
+    public void markWritten(Long userId) {
+        stickyUntil.put(userClient(userId), System.currentTimeMillis() + stickyMs);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+
+        String client = currentClient();
+        long now = System.currentTimeMillis();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (client != null) {
+                stickyUntil.put(client, now + stickyMs);
+            }
+            return PRIMARY;
+        }
+
+        if (client != null) {
+            Long until = stickyUntil.get(client);
+            if (until != null) {
+                if (until > now) {
+                    return PRIMARY;
+                }
+                stickyUntil.remove(client, until);
+            }
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Health and lag of each replica, for diagnostics.
+     */
+    public Map<String, Map<String, Object>> getReplicaStatus() {
+        Map<String, Map<String, Object>> status = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("healthy", replica.healthy);
+            values.put("lagSeconds", replica.lagSeconds);
+            status.put(replica.name, values);
+        }
+        return Collections.unmodifiableMap(status);
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            long lag;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(2);
+                try (ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                    if (!rs.next()) {
+                        // Not configured as a replica (e.g. a standalone instance for local testing)
+                        lag = 0;
+                    } else {
+                        lag = rs.getLong("Seconds_Behind_Source");
+                        if (rs.wasNull()) {
+                            // Replication threads are not running
+                            lag = -1;
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                logger.debug("Health check failed for replica {}: {}", replica.name, e.getMessage());
+                lag = -1;
+            }
+
+            boolean healthy = lag >= 0 && lag <= maxLagSeconds;
+            if (healthy != replica.healthy) {
+                logger.warn("Replica {} is now {} (lag: {}s)", replica.name, healthy ? "in service" : "out of service", lag);
+            }
+            replica.lagSeconds = lag;
+            replica.healthy = healthy;
+        }
+
+        long now = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until <= now);
+    }
+
+    private static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
+            return userClient(((UserDetailsImpl) authentication.getPrincipal()).getId());
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+            Cookie[] cookies = request.getCookies();
+            if (cookies != null) {
+                for (Cookie cookie : cookies) {
+                    if (GUEST_COOKIE.equals(cookie.getName())) {
+                        return "g:" + cookie.getValue();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String userClient(Long userId) {
+        return "u:" + userId;
+    }
+
+    private static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagSeconds = -1;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
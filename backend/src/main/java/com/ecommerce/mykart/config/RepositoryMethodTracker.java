@@ -0,0 +1,52 @@
+package com.ecommerce.mykart.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers which repository method the current thread is in (e.g. OrderRepository.findOrderSummaries),
+ * so statements seen at the JDBC layer can be attributed to the query that issued them. Every
+ * Spring Data repository proxy gets an interceptor that sets it for the duration of the call.
+ */
+@Component
+public class RepositoryMethodTracker implements BeanPostProcessor {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The repository method running on this thread, or null outside a repository call
+     * (flushes at commit, JdbcTemplate, lazy loading).
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        // Before initialization: the factory bean creates the repository proxy in afterPropertiesSet
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            tracking(repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    // Named after the repository interface, not the declaring class (CrudRepository for findAll)
+    private static MethodInterceptor tracking(String repositoryName) {
+        return invocation -> {
+            if (CURRENT.get() != null) {
+                // Keep the outermost call; default methods delegate to other repository methods
+                return invocation.proceed();
+            }
+            CURRENT.set(repositoryName + "." + invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.mykart.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Lets DEBUG output of the application's own loggers through for requests that
+ * AccessLogFilter marked as sampled. TRACE, and every logger outside the application
+ * package (Hibernate bind values, Spring Security, Tomcat), keep their configured levels.
+ * Configured in logback-spring.xml.
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+    private String mdcKey = AccessLogFilter.MDC_SAMPLED;
+    private String loggerPrefix = "com.ecommerce.mykart.";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || !level.isGreaterOrEqual(Level.DEBUG) || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return "true".equals(MDC.get(mdcKey)) ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+    }
+
+    public void setMdcKey(String mdcKey) {
+        this.mdcKey = mdcKey;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+}
@@ -0,0 +1,251 @@
+package com.ecommerce.mykart.config;
+
+import com.ecommerce.mykart.dto.CartDTO;
+import com.ecommerce.mykart.dto.CartItemDTO;
+import com.ecommerce.mykart.dto.OrderDTO;
+import com.ecommerce.mykart.dto.OrderItemDTO;
+import com.ecommerce.mykart.model.Product;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Hand-written serializers for the types on the listing, cart and order endpoints, replacing
+ * Jackson's reflective bean serializers. Field names are pre-encoded, values are written with
+ * direct getter calls, and prices are formatted into a per-thread buffer instead of going
+ * through {@link BigDecimal#toString()}.
+ *
+ * Output is byte-for-byte what the bean serializers produce with the application's
+ * ObjectMapper (properties in field declaration order, nulls included); ShopJsonModuleTest
+ * checks both against committed golden JSON. Keep the field lists in step with the classes.
+ *
+ * Spring Boot registers this module with the application's ObjectMapper.
+ */
+@Component
+public class ShopJsonModule extends SimpleModule {
+
+    public ShopJsonModule() {
+        super("ShopJsonModule");
+        // Also matches Hibernate proxy subclasses, which Jackson resolves through the superclass
+        addSerializer(Product.class, new ProductSerializer());
+        addSerializer(CartDTO.class, new CartSerializer());
+        addSerializer(CartItemDTO.class, new CartItemSerializer());
+        addSerializer(OrderDTO.class, new OrderSerializer());
+        addSerializer(OrderItemDTO.class, new OrderItemSerializer());
+    }
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString PRICE = new SerializedString("price");
+    private static final SerializableString CATEGORY = new SerializedString("category");
+    private static final SerializableString IMAGE_URL = new SerializedString("imageUrl");
+    private static final SerializableString STOCK_QUANTITY = new SerializedString("stockQuantity");
+    private static final SerializableString BRAND = new SerializedString("brand");
+    private static final SerializableString MODEL = new SerializedString("model");
+    private static final SerializableString WARRANTY = new SerializedString("warranty");
+    private static final SerializableString RATING = new SerializedString("rating");
+    private static final SerializableString DISCOUNT_PERCENTAGE = new SerializedString("discountPercentage");
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString CART_ITEMS = new SerializedString("cartItems");
+    private static final SerializableString PRODUCT_ID = new SerializedString("productId");
+    private static final SerializableString PRODUCT_NAME = new SerializedString("productName");
+    private static final SerializableString PRODUCT_IMAGE_URL = new SerializedString("productImageUrl");
+    private static final SerializableString QUANTITY = new SerializedString("quantity");
+    private static final SerializableString ORDER_DATE = new SerializedString("orderDate");
+    private static final SerializableString TOTAL_AMOUNT = new SerializedString("totalAmount");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString ORDER_ITEMS = new SerializedString("orderItems");
+
+    // Scales up to 6 print the same way through toString() and toPlainString()
+    private static final int MAX_FAST_SCALE = 6;
+    private static final int MAX_FAST_PRECISION = 18;
+    private static final ThreadLocal<char[]> DECIMAL_BUFFER = ThreadLocal.withInitial(() -> new char[24]);
+
+    static class ProductSerializer extends StdSerializer<Product> {
+        ProductSerializer() {
+            super(Product.class);
+        }
+
+        @Override
+        public void serialize(Product product, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(product);
+            writeLong(gen, ID, product.getId());
+            writeString(gen, NAME, product.getName());
+            writeString(gen, DESCRIPTION, product.getDescription());
+            writeDecimal(gen, PRICE, product.getPrice());
+            writeString(gen, CATEGORY, product.getCategory());
+            writeString(gen, IMAGE_URL, product.getImageUrl());
+            writeInt(gen, STOCK_QUANTITY, product.getStockQuantity());
+            writeString(gen, BRAND, product.getBrand());
+            writeString(gen, MODEL, product.getModel());
+            writeString(gen, WARRANTY, product.getWarranty());
+            gen.writeFieldName(RATING);
+            if (product.getRating() != null) {
+                gen.writeNumber(product.getRating());
+            } else {
+                gen.writeNull();
+            }
+            writeInt(gen, DISCOUNT_PERCENTAGE, product.getDiscountPercentage());
+            gen.writeEndObject();
+        }
+    }
+
+    static class CartSerializer extends StdSerializer<CartDTO> {
+        CartSerializer() {
+            super(CartDTO.class);
+        }
+
+        @Override
+        public void serialize(CartDTO cart, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(cart);
+            writeLong(gen, ID, cart.getId());
+            writeLong(gen, USER_ID, cart.getUserId());
+            gen.writeFieldName(CART_ITEMS);
+            writeItems(gen, provider, cart.getCartItems());
+            gen.writeEndObject();
+        }
+    }
+
+    static class CartItemSerializer extends StdSerializer<CartItemDTO> {
+        CartItemSerializer() {
+            super(CartItemDTO.class);
+        }
+
+        @Override
+        public void serialize(CartItemDTO item, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(item);
+            writeLong(gen, ID, item.getId());
+            writeLong(gen, PRODUCT_ID, item.getProductId());
+            writeString(gen, PRODUCT_NAME, item.getProductName());
+            writeString(gen, PRODUCT_IMAGE_URL, item.getProductImageUrl());
+            writeInt(gen, QUANTITY, item.getQuantity());
+            writeDecimal(gen, PRICE, item.getPrice());
+            gen.writeEndObject();
+        }
+    }
+
+    static class OrderSerializer extends StdSerializer<OrderDTO> {
+        OrderSerializer() {
+            super(OrderDTO.class);
+        }
+
+        @Override
+        public void serialize(OrderDTO order, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(order);
+            writeLong(gen, ID, order.getId());
+            writeLong(gen, USER_ID, order.getUserId());
+            gen.writeFieldName(ORDER_DATE);
+            // Left to the JavaTimeModule so the configured date format still applies
+            if (order.getOrderDate() != null) {
+                provider.defaultSerializeValue(order.getOrderDate(), gen);
+            } else {
+                gen.writeNull();
+            }
+            writeDecimal(gen, TOTAL_AMOUNT, order.getTotalAmount());
+            writeString(gen, STATUS, order.getStatus());
+            gen.writeFieldName(ORDER_ITEMS);
+            writeItems(gen, provider, order.getOrderItems());
+            gen.writeEndObject();
+        }
+    }
+
+    static class OrderItemSerializer extends StdSerializer<OrderItemDTO> {
+        OrderItemSerializer() {
+            super(OrderItemDTO.class);
+        }
+
+        @Override
+        public void serialize(OrderItemDTO item, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(item);
+            writeLong(gen, ID, item.getId());
+            writeLong(gen, PRODUCT_ID, item.getProductId());
+            writeString(gen, PRODUCT_NAME, item.getProductName());
+            writeString(gen, PRODUCT_IMAGE_URL, item.getProductImageUrl());
+            writeInt(gen, QUANTITY, item.getQuantity());
+            writeDecimal(gen, PRICE, item.getPrice());
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeItems(JsonGenerator gen, SerializerProvider provider, Collection<?> items) throws IOException {
+        if (items == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray(items, items.size());
+        for (Object item : items) {
+            // Resolves to the item serializers above through the provider's serializer cache
+            provider.defaultSerializeValue(item, gen);
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeLong(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value != null) {
+            gen.writeNumber(value.longValue());
+        } else {
+            gen.writeNull();
+        }
+    }
+
+    private static void writeInt(JsonGenerator gen, SerializableString name, Integer value) throws IOException {
+        gen.writeFieldName(name);
+        if (value != null) {
+            gen.writeNumber(value.intValue());
+        } else {
+            gen.writeNull();
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+
+    static void writeDecimal(JsonGenerator gen, SerializableString name, BigDecimal value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        int scale = value.scale();
+        // Binary formats encode BigDecimal natively, and only text formats accept pre-formatted digits
+        if (scale < 0 || scale > MAX_FAST_SCALE || value.precision() > MAX_FAST_PRECISION
+                || !gen.canWriteFormattedNumbers()) {
+            gen.writeNumber(value);
+            return;
+        }
+
+        long unscaled = value.unscaledValue().longValue();
+        boolean negative = unscaled < 0;
+        long rest = negative ? -unscaled : unscaled;
+
+        char[] buffer = DECIMAL_BUFFER.get();
+        int pos = buffer.length;
+        for (int i = 0; i < scale; i++) {
+            buffer[--pos] = (char) ('0' + (int) (rest % 10));
+            rest /= 10;
+        }
+        if (scale > 0) {
+            buffer[--pos] = '.';
+        }
+        do {
+            buffer[--pos] = (char) ('0' + (int) (rest % 10));
+            rest /= 10;
+        } while (rest != 0);
+        if (negative) {
+            buffer[--pos] = '-';
+        }
+        gen.writeNumber(buffer, pos, buffer.length - pos);
+    }
+}
@@ -0,0 +1,278 @@
+package com.ecommerce.mykart.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recent statements slower than slow-query.threshold-ms in a fixed-size ring
+ * buffer: shape, bind parameter types, duration, rows, the repository method that issued it
+ * and the request route. Recording is a single atomic increment and array write, so it adds
+ * nothing measurable to the executing thread.
+ *
+ * The first time a shape turns up slow it is logged and, with slow-query.explain.enabled,
+ * EXPLAINed on a background thread using the captured bind values, so the snapshot shows the
+ * plan as it was when the statement was slow. Served at /api/admin/slow-queries.
+ */
+@Component
+public class SlowQueryRecorder implements InstrumentedDataSource.StatementListener, MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryRecorder.class);
+
+    private static final String APPLICATION_PACKAGE = "com.ecommerce.mykart.";
+    private static final String CONFIG_PACKAGE = "com.ecommerce.mykart.config.";
+
+    @Value("${slow-query.threshold-ms:200}")
+    private long thresholdMs;
+
+    @Value("${slow-query.buffer-size:1024}")
+    private int bufferSize;
+
+    @Value("${slow-query.explain.enabled:true}")
+    private boolean explainEnabled;
+
+    // Caps the EXPLAIN snapshots kept, in case unparameterized SQL makes every statement a new shape
+    @Value("${slow-query.max-shapes:500}")
+    private int maxShapes;
+
+    // Resolved lazily: JdbcTemplate needs the DataSource this listener is registered with
+    @Autowired
+    private ObjectProvider<JdbcTemplate> jdbcTemplate;
+
+    private long thresholdNanos;
+    private AtomicReferenceArray<SlowQuery> buffer;
+    private int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, ExplainSnapshot> explains = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor explainer;
+    private volatile Counter slowStatements;
+
+    @PostConstruct
+    public void init() {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        // Rounded up to a power of two, so the slot is a mask of the sequence
+        int capacity = Integer.highestOneBit(Math.max(16, bufferSize) - 1) << 1;
+        buffer = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+        // One thread and a short queue: snapshots are best effort and must not load the database
+        explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(32),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (explainer != null) {
+            explainer.shutdownNow();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        slowStatements = Counter.builder("mykart.sql.slow")
+                .description("Statements slower than slow-query.threshold-ms")
+                .register(registry);
+    }
+
+    @Override
+    public void statementExecuted(InstrumentedDataSource.StatementExecution execution) {
+        if (execution.getNanos() < thresholdNanos || execution.getSql() == null) {
+            return;
+        }
+        String shape = execution.getShape();
+        if (isExplain(shape)) {
+            return;
+        }
+
+        SlowQuery query = new SlowQuery(shape, execution.getParameterTypes(),
+                TimeUnit.NANOSECONDS.toMillis(execution.getNanos()), execution.getRows(),
+                caller(), route(), System.currentTimeMillis());
+        buffer.set((int) (sequence.getAndIncrement() & mask), query);
+        Counter counter = slowStatements;
+        if (counter != null) {
+            counter.increment();
+        }
+
+        if (!explains.containsKey(shape) && explains.size() < maxShapes) {
+            ExplainSnapshot snapshot = new ExplainSnapshot();
+            if (explains.putIfAbsent(shape, snapshot) == null) {
+                logger.warn("Slow statement ({} ms, {} rows) in {} from {}: {}",
+                        query.durationMs, query.rows, query.route, query.caller, shape);
+                if (!explainEnabled) {
+                    snapshot.error = "EXPLAIN disabled";
+                } else if (!isExplainable(shape)) {
+                    snapshot.error = "not a SELECT, UPDATE or DELETE";
+                } else {
+                    String sql = execution.getSql();
+                    Object[] parameters = execution.getParameters();
+                    explainer.execute(() -> snapshot.capture(jdbcTemplate.getObject(), sql, parameters));
+                }
+            }
+        }
+    }
+
+    /**
+     * The slowest shapes among the statements still in the buffer, by worst duration, each
+     * with its counts, the latest occurrence's context and the EXPLAIN taken when it first appeared.
+     */
+    public List<Map<String, Object>> getTopShapes(int limit) {
+        Map<String, ShapeSummary> summaries = new LinkedHashMap<>();
+        for (int i = 0; i < buffer.length(); i++) {
+            SlowQuery query = buffer.get(i);
+            if (query != null) {
+                summaries.computeIfAbsent(query.shape, ShapeSummary::new).add(query);
+            }
+        }
+
+        List<ShapeSummary> ranked = new ArrayList<>(summaries.values());
+        ranked.sort(Comparator.comparingLong((ShapeSummary s) -> s.maxMs).reversed());
+        List<Map<String, Object>> report = new ArrayList<>();
+        for (ShapeSummary summary : ranked.subList(0, Math.min(limit, ranked.size()))) {
+            SlowQuery latest = summary.latest;
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("shape", summary.shape);
+            entry.put("count", summary.count);
+            entry.put("maxMs", summary.maxMs);
+            entry.put("meanMs", summary.totalMs / summary.count);
+            entry.put("lastSeen", Instant.ofEpochMilli(latest.timestamp));
+            entry.put("lastDurationMs", latest.durationMs);
+            entry.put("lastRows", latest.rows);
+            entry.put("parameterTypes", latest.parameterTypes);
+            entry.put("caller", latest.caller);
+            entry.put("route", latest.route);
+            ExplainSnapshot explain = explains.get(summary.shape);
+            if (explain != null) {
+                entry.put("explain", explain.plan);
+                entry.put("explainedAt", explain.capturedAt != 0 ? Instant.ofEpochMilli(explain.capturedAt) : null);
+                entry.put("explainError", explain.error);
+            }
+            report.add(entry);
+        }
+        return report;
+    }
+
+    private static boolean isExplain(String shape) {
+        return shape.regionMatches(true, 0, "explain", 0, 7);
+    }
+
+    // MySQL explains SELECT, UPDATE, DELETE, INSERT and REPLACE; inserts have no plan worth keeping
+    private static boolean isExplainable(String shape) {
+        String verb = shape.length() >= 6 ? shape.substring(0, 6).toLowerCase(Locale.ROOT) : "";
+        return verb.equals("select") || verb.equals("update") || verb.equals("delete");
+    }
+
+    private static String caller() {
+        String repositoryMethod = RepositoryMethodTracker.current();
+        if (repositoryMethod != null) {
+            return repositoryMethod;
+        }
+        // Flushes, lazy loads and JdbcTemplate: the nearest application frame
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(CONFIG_PACKAGE))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+
+    private static String simpleName(String className) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int proxySuffix = name.indexOf('$');
+        return proxySuffix > 0 ? name.substring(0, proxySuffix) : name;
+    }
+
+    private static String route() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return "background";
+        }
+        Object pattern = attributes.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return attributes.getRequest().getMethod() + " " + (pattern != null ? pattern : attributes.getRequest().getRequestURI());
+    }
+
+    private static class SlowQuery {
+        private final String shape;
+        private final String[] parameterTypes;
+        private final long durationMs;
+        private final long rows;
+        private final String caller;
+        private final String route;
+        private final long timestamp;
+
+        SlowQuery(String shape, String[] parameterTypes, long durationMs, long rows, String caller, String route,
+                  long timestamp) {
+            this.shape = shape;
+            this.parameterTypes = parameterTypes;
+            this.durationMs = durationMs;
+            this.rows = rows;
+            this.caller = caller;
+            this.route = route;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private static class ShapeSummary {
+        private final String shape;
+        private int count;
+        private long maxMs;
+        private long totalMs;
+        private SlowQuery latest;
+
+        ShapeSummary(String shape) {
+            this.shape = shape;
+        }
+
+        void add(SlowQuery query) {
+            count++;
+            totalMs += query.durationMs;
+            maxMs = Math.max(maxMs, query.durationMs);
+            if (latest == null || query.timestamp >= latest.timestamp) {
+                latest = query;
+            }
+        }
+    }
+
+    private static class ExplainSnapshot {
+        private volatile List<Map<String, Object>> plan;
+        private volatile long capturedAt;
+        private volatile String error;
+
+        void capture(JdbcTemplate jdbcTemplate, String sql, Object[] parameters) {
+            try {
+                plan = jdbcTemplate.queryForList("EXPLAIN " + sql, parameters);
+            } catch (Exception e) {
+                // e.g. more bind parameters than were tracked, or a table dropped since
+                error = e.getMessage();
+                logger.debug("Could not EXPLAIN slow statement: {}", sql, e);
+            }
+            capturedAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.ecommerce.mykart.config;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * SQL executed while serving one request: statements, rows, JDBC time and how often each
+ * statement was repeated. Filled in by {@link SqlStatsFilter} from the executions reported by
+ * {@link InstrumentedDataSource}; statements run outside a request (scheduled jobs, startup)
+ * are not tracked.
+ *
+ * Tracking follows the thread. Work a request hands to another thread (password hashing,
+ * the checkout batcher, MVC async tasks) is counted by wrapping it with {@link #propagate}
+ * or {@link #callFor}; its counts are merged in when it finishes. Scopes nest: statements
+ * also count toward the scope that was current when an inner one started, e.g. a test
+ * measuring several MockMvc requests.
+ */
+public class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final SqlRequestStats parent;
+    private int statements;
+    private long rows;
+    private long nanos;
+    // Keyed by the raw SQL, which is already parameterized for Hibernate and JdbcTemplate
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    private SqlRequestStats(SqlRequestStats parent) {
+        this.parent = parent;
+    }
+
+    static SqlRequestStats start() {
+        SqlRequestStats stats = new SqlRequestStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        SqlRequestStats stats = CURRENT.get();
+        restore(stats != null ? stats.parent : null);
+    }
+
+    // The same request continuing on another thread (an ASYNC dispatch)
+    static void resume(SqlRequestStats stats) {
+        CURRENT.set(stats);
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run a task on this thread with its statements counted toward each of the targets
+     * (nulls are skipped), e.g. every request whose checkout went into one batch.
+     */
+    public static <T> T callFor(Collection<SqlRequestStats> targets, Supplier<T> task) {
+        SqlRequestStats previous = CURRENT.get();
+        SqlRequestStats stats = new SqlRequestStats(null);
+        CURRENT.set(stats);
+        try {
+            return task.get();
+        } finally {
+            restore(previous);
+            for (SqlRequestStats target : targets) {
+                if (target != null) {
+                    target.merge(stats);
+                }
+            }
+        }
+    }
+
+    /**
+     * Wrap a task being handed to another thread so its statements count toward the
+     * request current on the submitting thread. Usable as a TaskDecorator.
+     */
+    public static Runnable propagate(Runnable task) {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> callFor(List.of(stats), () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        SqlRequestStats stats = CURRENT.get();
+        return stats == null ? task : () -> callFor(List.of(stats), task);
+    }
+
+    private static void restore(SqlRequestStats previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    void record(InstrumentedDataSource.StatementExecution execution) {
+        synchronized (this) {
+            statements++;
+            rows += execution.getRows();
+            nanos += execution.getNanos();
+            if (execution.getSql() != null) {
+                executionsBySql.merge(execution.getSql(), 1, Integer::sum);
+            }
+        }
+        if (parent != null) {
+            parent.record(execution);
+        }
+    }
+
+    private void merge(SqlRequestStats other) {
+        synchronized (this) {
+            statements += other.statements;
+            rows += other.rows;
+            nanos += other.nanos;
+            other.executionsBySql.forEach((sql, count) -> executionsBySql.merge(sql, count, Integer::sum));
+        }
+        if (parent != null) {
+            parent.merge(other);
+        }
+    }
+
+    public synchronized int getStatements() {
+        return statements;
+    }
+
+    public synchronized long getRows() {
+        return rows;
+    }
+
+    public synchronized long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Statement shapes executed at least {@code threshold} times, with their counts: the
+     * signature of an N+1 (one query per row of a previous result).
+     */
+    public synchronized Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> byShape = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : executionsBySql.entrySet()) {
+            byShape.merge(InstrumentedDataSource.shapeOf(entry.getKey()), entry.getValue(), Integer::sum);
+        }
+        byShape.values().removeIf(count -> count < threshold);
+        return byShape;
+    }
+}
@@ -0,0 +1,256 @@
+package com.ecommerce.mykart.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the SQL each request runs (statements, rows, JDBC time) and publishes it as
+ * mykart.sql.* metrics per route. Flags N+1 patterns, where the same statement shape runs
+ * sql-stats.repeat-threshold or more times in one request, and routes that exceed their
+ * statement budget in sql-stats.budgets.
+ *
+ * With sql-stats.headers.enabled (for non-production use) the counts are also sent as
+ * X-SQL-* response headers. Headers go out with the first byte of the body, so statements
+ * run while serializing (lazy loading) or in async work only show up in the metrics and the
+ * access log.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SqlStatsFilter extends OncePerRequestFilter
+        implements InstrumentedDataSource.StatementListener, MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatsFilter.class);
+
+    // The finished SqlRequestStats, for the access log
+    public static final String STATS_ATTRIBUTE = "mykart.sqlStats";
+
+    @Value("${sql-stats.headers.enabled:false}")
+    private boolean headersEnabled;
+
+    @Value("${sql-stats.repeat-threshold:3}")
+    private int repeatThreshold;
+
+    // Format: METHOD route=max,METHOD route=max (routes as mapped, e.g. GET /api/orders/{orderId})
+    @Value("${sql-stats.budgets:}")
+    private String budgetsSpec;
+
+    private Map<String, Integer> budgets;
+    private volatile MeterRegistry registry;
+
+    @Override
+    protected void initFilterBean() {
+        Map<String, Integer> parsed = new HashMap<>();
+        for (String entry : budgetsSpec.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator > 0) {
+                parsed.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+            }
+        }
+        budgets = parsed;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void statementExecuted(InstrumentedDataSource.StatementExecution execution) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.record(execution);
+        }
+    }
+
+    // Also runs on the ASYNC dispatch that writes an async result, which may lazy-load
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request) && request.getAttribute(STATS_ATTRIBUTE) instanceof SqlRequestStats stats) {
+            SqlRequestStats.resume(stats);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                SqlRequestStats.end();
+            }
+            return;
+        }
+
+        SqlRequestStats stats = SqlRequestStats.start();
+        HttpServletResponse target = headersEnabled ? new HeaderWritingResponse(response, stats) : response;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            SqlRequestStats.end();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+            if (request.isAsyncStarted()) {
+                // Async work adds its statements when it finishes; report once the response completes
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        report(request, stats);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                if (target instanceof HeaderWritingResponse wrapper) {
+                    wrapper.writeHeaders();
+                }
+                report(request, stats);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlRequestStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Unmatched URIs would make the uri tag unbounded
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        Map<String, Integer> repeated = stats.getStatements() >= repeatThreshold
+                ? stats.repeatedShapes(repeatThreshold) : Map.of();
+        if (!repeated.isEmpty()) {
+            logger.warn("Possible N+1 in {} {}: {}", method, uri, repeated);
+        }
+        Integer budget = budgets.get(method + " " + uri);
+        boolean overBudget = budget != null && stats.getStatements() > budget;
+        if (overBudget) {
+            logger.warn("{} {} ran {} SQL statements, budget is {}", method, uri, stats.getStatements(), budget);
+        }
+
+        MeterRegistry meters = registry;
+        if (meters == null) {
+            return;
+        }
+        DistributionSummary.builder("mykart.sql.statements")
+                .description("SQL statements per request")
+                .tag("method", method).tag("uri", uri)
+                .register(meters).record(stats.getStatements());
+        DistributionSummary.builder("mykart.sql.rows")
+                .description("Rows read or changed per request")
+                .tag("method", method).tag("uri", uri)
+                .register(meters).record(stats.getRows());
+        Timer.builder("mykart.sql.time")
+                .description("JDBC time per request")
+                .tag("method", method).tag("uri", uri)
+                .register(meters).record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        if (!repeated.isEmpty()) {
+            Counter.builder("mykart.sql.repeated")
+                    .description("Requests that repeated a statement shape (possible N+1)")
+                    .tag("method", method).tag("uri", uri)
+                    .register(meters).increment();
+        }
+        if (overBudget) {
+            Counter.builder("mykart.sql.budget.exceeded")
+                    .description("Requests that ran more statements than their budget")
+                    .tag("method", method).tag("uri", uri)
+                    .register(meters).increment();
+        }
+    }
+
+    /**
+     * Adds the X-SQL-* headers just before the response commits, i.e. when the body is
+     * first written, or at the end of the request if nothing was.
+     */
+    private class HeaderWritingResponse extends HttpServletResponseWrapper {
+        private final SqlRequestStats stats;
+        private boolean written;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlRequestStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader("X-SQL-Statements", Integer.toString(stats.getStatements()));
+            setHeader("X-SQL-Rows", Long.toString(stats.getRows()));
+            setHeader("X-SQL-Time-Ms", Long.toString(TimeUnit.NANOSECONDS.toMillis(stats.getNanos())));
+            if (stats.getStatements() >= repeatThreshold) {
+                int repeatedShapes = stats.repeatedShapes(repeatThreshold).size();
+                if (repeatedShapes > 0) {
+                    setHeader("X-SQL-Repeated-Shapes", Integer.toString(repeatedShapes));
+                }
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
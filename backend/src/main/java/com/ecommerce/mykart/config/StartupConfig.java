@@ -0,0 +1,55 @@
+package com.ecommerce.mykart.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ClassUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Startup support for the fast-startup profile: keeps beans that do work on their own
+ * eager when lazy initialization is on, and reports how long the JVM took to become ready.
+ */
+@Configuration
+public class StartupConfig {
+    private static final Logger logger = LoggerFactory.getLogger(StartupConfig.class);
+
+    /**
+     * A lazily created bean never has its {@code @Scheduled} methods registered, and startup
+     * runners and listeners should do their work at startup rather than on the first request.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBackgroundWorkFilter() {
+        return (beanName, beanDefinition, beanType) ->
+                CommandLineRunner.class.isAssignableFrom(beanType)
+                        || hasAnnotatedMethod(beanType, Scheduled.class)
+                        || hasAnnotatedMethod(beanType, EventListener.class);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logStartupTime(ApplicationReadyEvent event) {
+        // JVM uptime includes class loading before Spring starts, which AppCDS is there to cut
+        logger.info("Ready in {} ms since JVM start ({} ms in Spring)",
+                ManagementFactory.getRuntimeMXBean().getUptime(), event.getTimeTaken().toMillis());
+    }
+
+    private static boolean hasAnnotatedMethod(Class<?> beanType, Class<? extends Annotation> annotation) {
+        Class<?> userClass = ClassUtils.getUserClass(beanType);
+        if (!userClass.getName().startsWith("com.ecommerce.mykart")) {
+            return false;
+        }
+        return !MethodIntrospector.selectMethods(userClass,
+                (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                        AnnotatedElementUtils.hasAnnotation(method, annotation) ? Boolean.TRUE : null).isEmpty();
+    }
+}
@@ -0,0 +1,181 @@
+package com.ecommerce.mykart.controller;
+
+import com.ecommerce.mykart.config.DataSourceConfig;
+import com.ecommerce.mykart.config.SlowQueryRecorder;
+import com.ecommerce.mykart.dto.MessageResponse;
+import com.ecommerce.mykart.dto.ProductSalesDTO;
+import com.ecommerce.mykart.model.SalesDailyCategory;
+import com.ecommerce.mykart.security.RateLimitFilter;
+import com.ecommerce.mykart.service.OrderExportService;
+import com.ecommerce.mykart.service.ProductService;
+import com.ecommerce.mykart.service.SalesAnalyticsService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private DataSourceConfig dataSourceConfig;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SlowQueryRecorder slowQueryRecorder;
+
+    @Value("${export.timeout-ms:1800000}")
+    private long exportTimeoutMs;
+
+    /**
+     * Stream all order lines as CSV or NDJSON, optionally gzip-compressed.
+     * The date range is [from, to) on order_date; both bounds are optional.
+     * Runs as an async task with its own timeout (export.timeout-ms), longer than the default.
+     */
+    @GetMapping("/orders/export")
+    public WebAsyncTask<Void> exportOrders(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) {
+
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        if (!ndjson && !"csv".equalsIgnoreCase(format)) {
+            // Streamed responses can't carry a MessageResponse body
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+
+        logger.info("Starting order export - format: {}, from: {}, to: {}, gzip: {}", format, from, to, gzip);
+
+        String filename = "orders." + (ndjson ? "ndjson" : "csv") + (gzip ? ".gz" : "");
+        String contentType = gzip ? "application/gzip" : (ndjson ? "application/x-ndjson" : "text/csv");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        response.setContentType(contentType);
+
+        return new WebAsyncTask<>(exportTimeoutMs, () -> {
+            OutputStream outputStream = response.getOutputStream();
+            if (gzip) {
+                GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 64 * 1024);
+                writeExport(ndjson, from, to, gzipStream);
+                gzipStream.finish();
+            } else {
+                writeExport(ndjson, from, to, outputStream);
+            }
+            outputStream.flush();
+            return null;
+        });
+    }
+
+    private void writeExport(boolean ndjson, LocalDateTime from, LocalDateTime to, OutputStream out) {
+        if (ndjson) {
+            orderExportService.exportNdjson(from, to, out);
+        } else {
+            orderExportService.exportCsv(from, to, out);
+        }
+    }
+
+    /**
+     * Revenue, units and order count per day per category for [from, to] (defaults to the last 30 days).
+     */
+    @GetMapping("/analytics/category-sales")
+    public ResponseEntity<?> getCategorySales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.minusDays(29);
+            List<SalesDailyCategory> sales = salesAnalyticsService.getDailyCategorySales(start, end);
+            return ResponseEntity.ok(sales);
+        } catch (Exception e) {
+            logger.error("Error getting category sales: ", e);
+            return ResponseEntity.status(500).body(new MessageResponse("Error occurred while fetching category sales"));
+        }
+    }
+
+    /**
+     * Best-selling products by revenue over the last {@code days} days.
+     */
+    @GetMapping("/analytics/top-products")
+    public ResponseEntity<?> getTopProducts(
+            @RequestParam(defaultValue = "7") Integer days,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        try {
+            LocalDate end = LocalDate.now();
+            LocalDate start = end.minusDays(Math.max(1, days) - 1);
+            List<ProductSalesDTO> products = salesAnalyticsService.getTopProducts(start, end, Math.max(1, Math.min(limit, 100)));
+            return ResponseEntity.ok(products);
+        } catch (Exception e) {
+            logger.error("Error getting top products: ", e);
+            return ResponseEntity.status(500).body(new MessageResponse("Error occurred while fetching top products"));
+        }
+    }
+
+    @PostMapping("/analytics/backfill")
+    public ResponseEntity<?> backfillSalesRollups() {
+        try {
+            int days = salesAnalyticsService.backfill();
+            logger.info("Sales rollup backfill completed for {} days", days);
+            return ResponseEntity.ok(new MessageResponse("Backfilled sales rollups for " + days + " days"));
+        } catch (Exception e) {
+            logger.error("Error backfilling sales rollups: ", e);
+            return ResponseEntity.status(500).body(new MessageResponse("Error occurred while backfilling sales rollups"));
+        }
+    }
+
+    @GetMapping("/rate-limits")
+    public ResponseEntity<?> getRateLimitMetrics() {
+        return ResponseEntity.ok(rateLimitFilter.getMetrics());
+    }
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<?> getCacheStatistics() {
+        return ResponseEntity.ok(productService.getCacheStatistics());
+    }
+
+    @GetMapping("/replicas")
+    public ResponseEntity<?> getReplicaStatus() {
+        return ResponseEntity.ok(dataSourceConfig.getReplicaStatus());
+    }
+
+    /**
+     * The slowest statement shapes recently recorded, with the EXPLAIN captured for each.
+     */
+    @GetMapping("/slow-queries")
+    public ResponseEntity<?> getSlowQueries(@RequestParam(defaultValue = "20") Integer limit) {
+        try {
+            return ResponseEntity.ok(slowQueryRecorder.getTopShapes(Math.max(1, Math.min(limit, 100))));
+        } catch (Exception e) {
+            logger.error("Error getting slow queries: ", e);
+            return ResponseEntity.status(500).body(new MessageResponse("Error occurred while fetching slow queries"));
+        }
+    }
+}
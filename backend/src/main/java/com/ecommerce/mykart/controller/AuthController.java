@@ -3,24 +3,36 @@ package com.ecommerce.mykart.controller;
 import com.ecommerce.mykart.dto.LoginRequest;
 import com.ecommerce.mykart.dto.MessageResponse;
 import com.ecommerce.mykart.dto.SignupRequest;
+import com.ecommerce.mykart.dto.TokenRefreshRequest;
 import com.ecommerce.mykart.model.User;
 import com.ecommerce.mykart.repository.UserRepository;
 import com.ecommerce.mykart.security.JwtUtils;
+import com.ecommerce.mykart.security.PasswordHashingExecutor;
+import com.ecommerce.mykart.security.TokenRevocationService;
 import com.ecommerce.mykart.security.UserDetailsImpl;
+import com.ecommerce.mykart.security.UserDetailsServiceImpl;
+import com.ecommerce.mykart.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
 import com.ecommerce.mykart.dto.JwtResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/auth")
@@ -39,19 +51,42 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    UserDetailsServiceImpl userDetailsService;
+
     @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        try {
+            // BCrypt verification runs on the bounded hashing pool, not the request thread
+            return passwordHashingExecutor.submit(() -> authenticate(loginRequest));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password hashing pool saturated, rejecting sign-in");
+            return CompletableFuture.completedFuture(tooManyRequests());
+        }
+    }
+
+    private ResponseEntity<?> authenticate(LoginRequest loginRequest) {
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
             String jwt = jwtUtils.generateJwtToken(authentication);
 
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            String refreshToken = refreshTokenService.issue(userDetails.getId());
 
-            logger.info("User authenticated successfully: {}", userDetails.getUsername());
+            logger.debug("User authenticated successfully: {}", userDetails.getUsername());
             return ResponseEntity.ok(new JwtResponse(jwt,
+                    refreshToken,
                     userDetails.getId(),
                     userDetails.getUsername(),
                     userDetails.getFirstName(),
@@ -66,7 +101,16 @@ public class AuthController {
     }
 
     @PostMapping("/signup")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
+        try {
+            return passwordHashingExecutor.submit(() -> register(signUpRequest));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password hashing pool saturated, rejecting sign-up");
+            return CompletableFuture.completedFuture(tooManyRequests());
+        }
+    }
+
+    private ResponseEntity<?> register(SignupRequest signUpRequest) {
         try {
             if (userRepository.existsByEmail(signUpRequest.getEmail())) {
                 return ResponseEntity
@@ -94,4 +138,66 @@ public class AuthController {
             return ResponseEntity.badRequest().body(new MessageResponse("Error occurred during registration"));
         }
     }
+
+    /**
+     * Exchange a refresh token for a new access token and a new refresh token.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+            User user = rotation.getUser();
+            UserDetailsImpl userDetails = UserDetailsImpl.build(user, userDetailsService.authoritiesFor(user.getEmail()));
+            String jwt = jwtUtils.generateJwtToken(userDetails);
+
+            return ResponseEntity.ok(new JwtResponse(jwt,
+                    rotation.getRefreshToken(),
+                    userDetails.getId(),
+                    userDetails.getUsername(),
+                    userDetails.getFirstName(),
+                    userDetails.getLastName()));
+        } catch (RefreshTokenService.InvalidRefreshTokenException e) {
+            logger.warn("Refresh rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new MessageResponse(e.getMessage()));
+        } catch (DataAccessException e) {
+            logger.error("Database error during token refresh: ", e);
+            return ResponseEntity.status(500).body(new MessageResponse("Database error occurred during token refresh"));
+        } catch (Exception e) {
+            logger.error("Error during token refresh: ", e);
+            return ResponseEntity.badRequest().body(new MessageResponse("Error occurred during token refresh"));
+        }
+    }
+
+    /**
+     * Revoke the presented access token (and refresh token, if supplied) before they expire.
+     */
+    @PostMapping("/signout")
+    public ResponseEntity<?> signOut(@RequestBody(required = false) TokenRefreshRequest request,
+                                     @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        try {
+            if (authorization != null && authorization.startsWith("Bearer ")) {
+                Claims claims = jwtUtils.getValidatedClaims(authorization.substring(7));
+                if (claims != null && claims.getId() != null) {
+                    LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+                    tokenRevocationService.revoke(claims.getId(), expiresAt);
+                }
+            }
+            if (request != null && request.getRefreshToken() != null) {
+                refreshTokenService.revoke(request.getRefreshToken());
+            }
+            return ResponseEntity.ok(new MessageResponse("Signed out successfully"));
+        } catch (DataAccessException e) {
+            logger.error("Database error during sign out: ", e);
+            return ResponseEntity.status(500).body(new MessageResponse("Database error occurred during sign out"));
+        } catch (Exception e) {
+            logger.error("Error during sign out: ", e);
+            return ResponseEntity.badRequest().body(new MessageResponse("Error occurred during sign out"));
+        }
+    }
+
+    private ResponseEntity<?> tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Too many requests, please try again shortly"));
+    }
 }
\ No newline at end of file
@@ -1,14 +1,13 @@
 package com.ecommerce.mykart.controller;
 
 import com.ecommerce.mykart.dto.CartDTO;
-import com.ecommerce.mykart.dto.CartItemDTO;
 import com.ecommerce.mykart.dto.MessageResponse;
+import com.ecommerce.mykart.dto.UserProfile;
 import com.ecommerce.mykart.model.Cart;
-import com.ecommerce.mykart.model.CartItem;
 import com.ecommerce.mykart.model.User;
 import com.ecommerce.mykart.security.UserDetailsImpl;
 import com.ecommerce.mykart.service.CartService;
-import com.ecommerce.mykart.repository.UserRepository;
+import com.ecommerce.mykart.service.UserCacheService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,11 +20,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.Cookie;
 import java.util.UUID;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
 import java.util.HashSet;
-import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -37,14 +32,14 @@ public class CartController {
     private CartService cartService;
     
     @Autowired
-    private UserRepository userRepository;
+    private UserCacheService userCacheService;
 
     /**
      * Get cart for current user (authenticated or guest)
      */
     @GetMapping("/")
     public ResponseEntity<?> getCart(HttpServletRequest request) {
-        logger.info("Received request to get cart");
+        logger.debug("Received request to get cart");
         
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -55,22 +50,23 @@ public class CartController {
                 authentication.getPrincipal() instanceof UserDetailsImpl) {
                 
                 UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-                User user = userRepository.findById(userDetails.getId())
-                        .orElseThrow(() -> new RuntimeException("User not found"));
+                User user = currentUser(userDetails);
                 
-                Cart cart = cartService.getOrCreateCart(user);
+                // Read-only lookup first (may be served by a replica); only create the cart if missing
+                Cart cart = cartService.findCart(user).orElseGet(() -> cartService.getOrCreateCart(user));
                 CartDTO cartDTO = convertToCartDTO(cart);
                 
-                logger.info("Retrieved cart for user {}: {} items", user.getId(), cartDTO.getCartItems().size());
+                logger.debug("Retrieved cart for user {}: {} items", user.getId(), cartDTO.getCartItems().size());
                 return ResponseEntity.ok(cartDTO);
             }
             
             // Handle guest users
             String guestIdentifier = getGuestIdentifier(request);
-            Cart guestCart = cartService.getOrCreateGuestCart(guestIdentifier);
+            Cart guestCart = cartService.findGuestCart(guestIdentifier)
+                    .orElseGet(() -> cartService.getOrCreateGuestCart(guestIdentifier));
             CartDTO cartDTO = convertToCartDTO(guestCart);
             
-            logger.info("Retrieved guest cart with {} items", cartDTO.getCartItems().size());
+            logger.debug("Retrieved guest cart with {} items", cartDTO.getCartItems().size());
             return ResponseEntity.ok(cartDTO);
             
         } catch (Exception e) {
@@ -89,7 +85,7 @@ public class CartController {
             HttpServletRequest request,
             HttpServletResponse response) {
         
-        logger.info("Received request to add item to cart - Product ID: {}, Quantity: {}", productId, quantity);
+        logger.debug("Received request to add item to cart - Product ID: {}, Quantity: {}", productId, quantity);
         
         try {
             // Validate parameters
@@ -105,18 +101,17 @@ public class CartController {
                 authentication.getPrincipal() instanceof UserDetailsImpl) {
                 
                 UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-                User user = userRepository.findById(userDetails.getId())
-                        .orElseThrow(() -> new RuntimeException("User not found"));
+                User user = currentUser(userDetails);
                 
                 Cart cart = cartService.addItemToCart(user, productId, quantity);
-                logger.info("Item added to user cart successfully");
+                logger.debug("Item added to user cart successfully");
                 return ResponseEntity.ok(new MessageResponse("Item added to cart successfully"));
             }
             
             // Handle guest users
             String guestIdentifier = getOrCreateGuestIdentifier(request, response);
             Cart cart = cartService.addItemToCart(guestIdentifier, productId, quantity);
-            logger.info("Item added to guest cart successfully");
+            logger.debug("Item added to guest cart successfully");
             return ResponseEntity.ok(new MessageResponse("Item added to cart successfully"));
             
         } catch (Exception e) {
@@ -134,7 +129,7 @@ public class CartController {
             @RequestParam Integer quantity,
             HttpServletRequest request) {
         
-        logger.info("Received request to update item quantity - Product ID: {}, Quantity: {}", productId, quantity);
+        logger.debug("Received request to update item quantity - Product ID: {}, Quantity: {}", productId, quantity);
         
         try {
             // Validate parameters
@@ -150,18 +145,17 @@ public class CartController {
                 authentication.getPrincipal() instanceof UserDetailsImpl) {
                 
                 UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-                User user = userRepository.findById(userDetails.getId())
-                        .orElseThrow(() -> new RuntimeException("User not found"));
+                User user = currentUser(userDetails);
                 
                 Cart cart = cartService.updateItemQuantity(user, productId, quantity);
-                logger.info("Item quantity updated in user cart successfully");
+                logger.debug("Item quantity updated in user cart successfully");
                 return ResponseEntity.ok(new MessageResponse("Item quantity updated successfully"));
             }
             
             // Handle guest users
             String guestIdentifier = getGuestIdentifier(request);
             Cart cart = cartService.updateItemQuantity(guestIdentifier, productId, quantity);
-            logger.info("Item quantity updated in guest cart successfully");
+            logger.debug("Item quantity updated in guest cart successfully");
             return ResponseEntity.ok(new MessageResponse("Item quantity updated successfully"));
             
         } catch (Exception e) {
@@ -178,7 +172,7 @@ public class CartController {
             @PathVariable Long productId,
             HttpServletRequest request) {
         
-        logger.info("Received request to remove item from cart - Product ID: {}", productId);
+        logger.debug("Received request to remove item from cart - Product ID: {}", productId);
         
         try {
             if (productId == null) {
@@ -193,18 +187,17 @@ public class CartController {
                 authentication.getPrincipal() instanceof UserDetailsImpl) {
                 
                 UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-                User user = userRepository.findById(userDetails.getId())
-                        .orElseThrow(() -> new RuntimeException("User not found"));
+                User user = currentUser(userDetails);
                 
                 Cart cart = cartService.removeItemFromCart(user, productId);
-                logger.info("Item removed from user cart successfully");
+                logger.debug("Item removed from user cart successfully");
                 return ResponseEntity.ok(new MessageResponse("Item removed from cart successfully"));
             }
             
             // Handle guest users
             String guestIdentifier = getGuestIdentifier(request);
             Cart cart = cartService.removeItemFromCart(guestIdentifier, productId);
-            logger.info("Item removed from guest cart successfully");
+            logger.debug("Item removed from guest cart successfully");
             return ResponseEntity.ok(new MessageResponse("Item removed from cart successfully"));
             
         } catch (Exception e) {
@@ -218,7 +211,7 @@ public class CartController {
      */
     @DeleteMapping("/")
     public ResponseEntity<?> clearCart(HttpServletRequest request) {
-        logger.info("Received request to clear cart");
+        logger.debug("Received request to clear cart");
         
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -229,18 +222,17 @@ public class CartController {
                 authentication.getPrincipal() instanceof UserDetailsImpl) {
                 
                 UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-                User user = userRepository.findById(userDetails.getId())
-                        .orElseThrow(() -> new RuntimeException("User not found"));
+                User user = currentUser(userDetails);
                 
                 cartService.clearCart(user);
-                logger.info("User cart cleared successfully");
+                logger.debug("User cart cleared successfully");
                 return ResponseEntity.ok(new MessageResponse("Cart cleared successfully"));
             }
             
             // Handle guest users
             String guestIdentifier = getGuestIdentifier(request);
             cartService.clearCart(guestIdentifier);
-            logger.info("Guest cart cleared successfully");
+            logger.debug("Guest cart cleared successfully");
             return ResponseEntity.ok(new MessageResponse("Cart cleared successfully"));
             
         } catch (Exception e) {
@@ -249,6 +241,15 @@ public class CartController {
         }
     }
 
+    /**
+     * Helper method to check the authenticated user still exists and get a reference to it
+     */
+    private User currentUser(UserDetailsImpl userDetails) {
+        UserProfile profile = userCacheService.getUser(userDetails.getId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return userCacheService.getReference(profile);
+    }
+
     /**
      * Helper method to get or create guest identifier
      */
@@ -258,7 +259,7 @@ public class CartController {
         if (cookies != null) {
             for (Cookie cookie : cookies) {
                 if ("guestIdentifier".equals(cookie.getName())) {
-                    logger.info("Found existing guest identifier in cookie: {}", cookie.getValue());
+                    logger.debug("Found existing guest identifier in cookie: {}", cookie.getValue());
                     return cookie.getValue();
                 }
             }
@@ -266,7 +267,7 @@ public class CartController {
         
         // Create a new guest identifier
         String guestIdentifier = UUID.randomUUID().toString();
-        logger.info("Creating new guest identifier: {}", guestIdentifier);
+        logger.debug("Creating new guest identifier: {}", guestIdentifier);
         
         // Set cookie for future requests
         Cookie guestCookie = new Cookie("guestIdentifier", guestIdentifier);
@@ -306,16 +307,6 @@ public class CartController {
             return emptyCart;
         }
         
-        CartDTO cartDTO = new CartDTO();
-        cartDTO.setId(cart.getId());
-        cartDTO.setUserId(cart.getUser() != null ? cart.getUser().getId() : null);
-        
-        List<CartItem> cartItems = cart.getCartItems() != null ? cart.getCartItems() : new ArrayList<>();
-        Set<CartItemDTO> cartItemDTOs = cartItems.stream()
-            .map(CartItemDTO::new)
-            .collect(Collectors.toSet());
-        cartDTO.setCartItems(cartItemDTOs);
-        
-        return cartDTO;
+        return new CartDTO(cart);
     }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.ecommerce.mykart.controller;
+
+import com.ecommerce.mykart.model.Product;
+import com.ecommerce.mykart.service.ProductCatalog;
+import com.ecommerce.mykart.service.ProductService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Read-only browse endpoints served from the in-memory {@link ProductCatalog}. With
+ * {@code Accept: application/x-ndjson} products are streamed one per line, each written only
+ * once the previous one has been flushed to the client, on MVC's async executor
+ * (see WebMvcConfig). Otherwise the snapshot is written as a JSON array on the request thread;
+ * it is already in memory, so there is nothing to gain from streaming it.
+ * Writes stay on {@link ProductController}.
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/catalog/products")
+public class CatalogController {
+
+    // Elements requested from the catalog at a time while streaming
+    private static final int PREFETCH = 32;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private ProductService productService;
+
+    @GetMapping
+    public List<Product> getAllProducts(
+        @RequestParam(required = false) String sortBy,
+        @RequestParam(required = false) String sortDirection) {
+        return sorted(productCatalog.getProducts(), sortBy, sortDirection);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Product> streamAllProducts(
+        @RequestParam(required = false) String sortBy,
+        @RequestParam(required = false) String sortDirection) {
+        return stream(getAllProducts(sortBy, sortDirection));
+    }
+
+    @GetMapping("/search")
+    public List<Product> searchProducts(
+        @RequestParam String query,
+        @RequestParam(required = false) String sortBy,
+        @RequestParam(required = false) String sortDirection) {
+        return sorted(productCatalog.searchByName(query), sortBy, sortDirection);
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Product> streamSearchProducts(
+        @RequestParam String query,
+        @RequestParam(required = false) String sortBy,
+        @RequestParam(required = false) String sortDirection) {
+        return stream(searchProducts(query, sortBy, sortDirection));
+    }
+
+    @GetMapping("/category/{category}")
+    public List<Product> getProductsByCategory(
+        @PathVariable String category,
+        @RequestParam(required = false) String sortBy,
+        @RequestParam(required = false) String sortDirection) {
+        return sorted(productCatalog.byCategory(category), sortBy, sortDirection);
+    }
+
+    @GetMapping(value = "/category/{category}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Product> streamProductsByCategory(
+        @PathVariable String category,
+        @RequestParam(required = false) String sortBy,
+        @RequestParam(required = false) String sortDirection) {
+        return stream(getProductsByCategory(category, sortBy, sortDirection));
+    }
+
+    private List<Product> sorted(List<Product> products, String sortBy, String sortDirection) {
+        if (sortBy != null && !sortBy.isEmpty()) {
+            return productService.sortProducts(products, sortBy, sortDirection);
+        }
+        return products;
+    }
+
+    private static Flux<Product> stream(List<Product> products) {
+        return Flux.fromIterable(products).limitRate(PREFETCH);
+    }
+}
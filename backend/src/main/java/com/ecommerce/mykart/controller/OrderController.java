@@ -1,63 +1,81 @@
 package com.ecommerce.mykart.controller;
 
 import com.ecommerce.mykart.dto.MessageResponse;
+import com.ecommerce.mykart.dto.OrderDTO;
+import com.ecommerce.mykart.dto.OrderPageDTO;
 import com.ecommerce.mykart.model.Order;
 import com.ecommerce.mykart.model.User;
 import com.ecommerce.mykart.security.UserDetailsImpl;
+import com.ecommerce.mykart.service.CheckoutBatcher;
+import com.ecommerce.mykart.service.ShopMetrics;
 import com.ecommerce.mykart.service.OrderService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Set;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
+    private static final int MAX_PAGE_SIZE = 100;
     
     @Autowired
     private OrderService orderService;
     
+    @Autowired
+    private CheckoutBatcher checkoutBatcher;
+
+    @Autowired
+    private ShopMetrics shopMetrics;
+    
     @PostMapping("/checkout")
     public ResponseEntity<?> checkout(Authentication authentication) {
         try {
-            logger.info("Received checkout request");
+            logger.debug("Received checkout request");
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
             User user = new User();
             user.setId(userDetails.getId());
             
-            Order order = orderService.createOrderFromCart(user);
-            logger.info("Order created successfully with ID: {}", order.getId());
+            Order order = checkoutBatcher.checkout(user);
+            logger.debug("Order created successfully with ID: {}", order.getId());
+            shopMetrics.orderPlaced();
             
-            return ResponseEntity.ok().body(order);
+            return ResponseEntity.ok().body(new OrderDTO(order));
         } catch (DataAccessException e) {
+            shopMetrics.checkoutFailed();
             logger.error("Database error during checkout: ", e);
             return ResponseEntity.status(500).body(new MessageResponse("Database error occurred during checkout"));
         } catch (Exception e) {
+            shopMetrics.checkoutFailed();
             logger.error("Error during checkout: ", e);
             return ResponseEntity.badRequest().body(new MessageResponse("Error during checkout: " + e.getMessage()));
         }
     }
     
     @GetMapping
-    public ResponseEntity<?> getOrders(Authentication authentication) {
+    public ResponseEntity<?> getOrders(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeDate,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") Integer size,
+            Authentication authentication) {
         try {
-            logger.info("Received request to get orders");
+            logger.debug("Received request to get orders");
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-            User user = new User();
-            user.setId(userDetails.getId());
             
-            List<Order> orders = orderService.getOrdersByUser(user);
-            logger.info("Retrieved {} orders for user", orders.size());
+            int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            OrderPageDTO page = orderService.getOrderHistory(userDetails.getId(), beforeDate, beforeId, pageSize);
+            logger.debug("Retrieved {} orders for user", page.getOrders().size());
             
-            return ResponseEntity.ok().body(orders);
+            return ResponseEntity.ok().body(page);
         } catch (DataAccessException e) {
             logger.error("Database error getting orders: ", e);
             return ResponseEntity.status(500).body(new MessageResponse("Database error occurred while fetching orders"));
@@ -70,19 +88,17 @@ public class OrderController {
     @GetMapping("/{orderId}")
     public ResponseEntity<?> getOrderById(@PathVariable Long orderId, Authentication authentication) {
         try {
-            logger.info("Received request to get order by ID: {}", orderId);
+            logger.debug("Received request to get order by ID: {}", orderId);
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-            User user = new User();
-            user.setId(userDetails.getId());
-            
-            Order order = orderService.getOrderById(orderId);
             
-            // Check if order belongs to user
-            if (!order.getUser().getId().equals(user.getId())) {
-                return ResponseEntity.badRequest().body(new MessageResponse("Order does not belong to user"));
+            // Orders belonging to other users are indistinguishable from missing ones
+            Optional<OrderDTO> order = orderService.getOrderForUser(orderId, userDetails.getId());
+            if (!order.isPresent()) {
+                logger.warn("Order not found with ID: {}", orderId);
+                return ResponseEntity.notFound().build();
             }
             
-            return ResponseEntity.ok().body(order);
+            return ResponseEntity.ok().body(order.get());
         } catch (DataAccessException e) {
             logger.error("Database error getting order with ID {}: ", orderId, e);
             return ResponseEntity.status(500).body(new MessageResponse("Database error occurred while fetching order"));
@@ -46,12 +46,12 @@ public class ProductController {
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getProductById(@PathVariable Long id) {
-        logger.info("Received request for product with ID: {}", id);
+        logger.debug("Received request for product with ID: {}", id);
         
         try {
             Optional<Product> product = productService.getProductById(id);
             if (product.isPresent()) {
-                logger.info("Returning product: {}", product.get().getName());
+                logger.debug("Returning product: {}", product.get().getName());
                 return ResponseEntity.ok(product.get());
             } else {
                 logger.warn("Product not found with ID: {}", id);
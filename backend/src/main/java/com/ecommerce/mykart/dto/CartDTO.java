@@ -1,7 +1,10 @@
 package com.ecommerce.mykart.dto;
 
+import com.ecommerce.mykart.model.Cart;
+
 import java.util.Set;
 import java.util.HashSet;
+import java.util.stream.Collectors;
 
 public class CartDTO {
     private Long id;
@@ -13,6 +16,14 @@ public class CartDTO {
         this.cartItems = new HashSet<>();
     }
 
+    public CartDTO(Cart cart) {
+        this.id = cart.getId();
+        this.userId = cart.getUser() != null ? cart.getUser().getId() : null;
+        this.cartItems = cart.getCartItems() != null
+                ? cart.getCartItems().stream().map(CartItemDTO::new).collect(Collectors.toSet())
+                : new HashSet<>();
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
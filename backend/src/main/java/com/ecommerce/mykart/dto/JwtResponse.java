@@ -7,9 +7,15 @@ public class JwtResponse {
     private String email;
     private String firstName;
     private String lastName;
+    private String refreshToken;
 
     public JwtResponse(String accessToken, Long id, String email, String firstName, String lastName) {
+        this(accessToken, null, id, email, firstName, lastName);
+    }
+
+    public JwtResponse(String accessToken, String refreshToken, Long id, String email, String firstName, String lastName) {
         this.token = accessToken;
+        this.refreshToken = refreshToken;
         this.id = id;
         this.email = email;
         this.firstName = firstName;
@@ -68,4 +74,12 @@ public class JwtResponse {
     public void setLastName(String lastName) {
         this.lastName = lastName;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.ecommerce.mykart.dto;
+
+import com.ecommerce.mykart.model.Order;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class OrderDTO {
+    private Long id;
+    private Long userId;
+    private LocalDateTime orderDate;
+    private BigDecimal totalAmount;
+    private String status;
+    private List<OrderItemDTO> orderItems;
+
+    // Constructors
+    public OrderDTO() {
+        this.orderItems = new ArrayList<>();
+    }
+
+    public OrderDTO(Order order) {
+        this.id = order.getId();
+        this.userId = order.getUser() != null ? order.getUser().getId() : null;
+        this.orderDate = order.getOrderDate();
+        this.totalAmount = order.getTotalAmount();
+        this.status = order.getStatus();
+        this.orderItems = order.getOrderItems() != null
+                ? order.getOrderItems().stream().map(OrderItemDTO::new).collect(Collectors.toList())
+                : new ArrayList<>();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public void setOrderDate(LocalDateTime orderDate) {
+        this.orderDate = orderDate;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<OrderItemDTO> getOrderItems() {
+        return orderItems;
+    }
+
+    public void setOrderItems(List<OrderItemDTO> orderItems) {
+        this.orderItems = orderItems;
+    }
+}
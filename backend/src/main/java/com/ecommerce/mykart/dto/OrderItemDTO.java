@@ -0,0 +1,80 @@
+package com.ecommerce.mykart.dto;
+
+import com.ecommerce.mykart.model.OrderItem;
+import com.ecommerce.mykart.model.Product;
+import java.math.BigDecimal;
+
+public class OrderItemDTO {
+    private Long id;
+    private Long productId;
+    private String productName;
+    private String productImageUrl;
+    private Integer quantity;
+    private BigDecimal price;
+
+    // Constructors
+    public OrderItemDTO() {}
+
+    public OrderItemDTO(OrderItem orderItem) {
+        if (orderItem != null) {
+            this.id = orderItem.getId();
+            this.quantity = orderItem.getQuantity();
+            this.price = orderItem.getPrice();
+            Product product = orderItem.getProduct();
+            if (product != null) {
+                this.productId = product.getId();
+                this.productName = product.getName();
+                this.productImageUrl = product.getImageUrl();
+            }
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public String getProductImageUrl() {
+        return productImageUrl;
+    }
+
+    public void setProductImageUrl(String productImageUrl) {
+        this.productImageUrl = productImageUrl;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+}
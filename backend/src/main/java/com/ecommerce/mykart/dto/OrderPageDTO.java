@@ -0,0 +1,61 @@
+package com.ecommerce.mykart.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderPageDTO {
+    private List<OrderSummaryDTO> orders;
+    private boolean hasMore;
+    // Keyset cursor for the next page: pass back as beforeDate/beforeId
+    private LocalDateTime nextBeforeDate;
+    private Long nextBeforeId;
+
+    // Constructors
+    public OrderPageDTO() {
+        this.orders = new ArrayList<>();
+    }
+
+    public OrderPageDTO(List<OrderSummaryDTO> orders, boolean hasMore) {
+        this.orders = orders;
+        this.hasMore = hasMore;
+        if (hasMore && !orders.isEmpty()) {
+            OrderSummaryDTO last = orders.get(orders.size() - 1);
+            this.nextBeforeDate = last.getOrderDate();
+            this.nextBeforeId = last.getId();
+        }
+    }
+
+    // Getters and Setters
+    public List<OrderSummaryDTO> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<OrderSummaryDTO> orders) {
+        this.orders = orders;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public LocalDateTime getNextBeforeDate() {
+        return nextBeforeDate;
+    }
+
+    public void setNextBeforeDate(LocalDateTime nextBeforeDate) {
+        this.nextBeforeDate = nextBeforeDate;
+    }
+
+    public Long getNextBeforeId() {
+        return nextBeforeId;
+    }
+
+    public void setNextBeforeId(Long nextBeforeId) {
+        this.nextBeforeId = nextBeforeId;
+    }
+}
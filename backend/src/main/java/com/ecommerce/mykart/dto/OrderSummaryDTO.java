@@ -0,0 +1,76 @@
+package com.ecommerce.mykart.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class OrderSummaryDTO {
+    private Long id;
+    private LocalDateTime orderDate;
+    private BigDecimal totalAmount;
+    private String status;
+    private Long itemCount;
+    private Long totalQuantity;
+
+    // Constructors
+    public OrderSummaryDTO() {}
+
+    // Used by the JPQL constructor projection in OrderRepository
+    public OrderSummaryDTO(Long id, LocalDateTime orderDate, BigDecimal totalAmount, String status,
+                           Long itemCount, Long totalQuantity) {
+        this.id = id;
+        this.orderDate = orderDate;
+        this.totalAmount = totalAmount;
+        this.status = status;
+        this.itemCount = itemCount;
+        this.totalQuantity = totalQuantity;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public void setOrderDate(LocalDateTime orderDate) {
+        this.orderDate = orderDate;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(Long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public Long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(Long totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+}
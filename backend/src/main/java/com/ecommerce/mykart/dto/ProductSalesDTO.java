@@ -0,0 +1,63 @@
+package com.ecommerce.mykart.dto;
+
+import java.math.BigDecimal;
+
+public class ProductSalesDTO {
+    private Long productId;
+    private String productName;
+    private Long units;
+    private BigDecimal revenue;
+    private Long orderCount;
+
+    // Constructors
+    public ProductSalesDTO() {}
+
+    public ProductSalesDTO(Long productId, String productName, Long units, BigDecimal revenue, Long orderCount) {
+        this.productId = productId;
+        this.productName = productName;
+        this.units = units;
+        this.revenue = revenue;
+        this.orderCount = orderCount;
+    }
+
+    // Getters and Setters
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public Long getUnits() {
+        return units;
+    }
+
+    public void setUnits(Long units) {
+        this.units = units;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public Long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(Long orderCount) {
+        this.orderCount = orderCount;
+    }
+}
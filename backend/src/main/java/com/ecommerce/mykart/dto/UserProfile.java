@@ -0,0 +1,44 @@
+package com.ecommerce.mykart.dto;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of a user for caching: identity, names and authorities, without the
+ * password hash. Safe to share between request threads.
+ */
+public final class UserProfile {
+    private final Long id;
+    private final String email;
+    private final String firstName;
+    private final String lastName;
+    private final List<String> authorities;
+
+    public UserProfile(Long id, String email, String firstName, String lastName, List<String> authorities) {
+        this.id = id;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public List<String> getAuthorities() {
+        return authorities;
+    }
+}
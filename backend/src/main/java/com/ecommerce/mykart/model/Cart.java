@@ -7,7 +7,11 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "carts")
+@Table(name = "carts", indexes = {
+    @Index(name = "idx_carts_guest_identifier", columnList = "guest_identifier")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_carts_user_id", columnNames = "user_id")
+})
 public class Cart {
     @Id
 @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -5,7 +5,9 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "cart_items")
+@Table(name = "cart_items", indexes = {
+    @Index(name = "idx_cart_items_cart_product", columnList = "cart_id, product_id")
+})
 public class CartItem {
     @Id
 @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -2,7 +2,11 @@ package com.ecommerce.mykart.repository;
 
 import com.ecommerce.mykart.model.Cart;
 import com.ecommerce.mykart.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
@@ -10,5 +14,10 @@ import java.util.Optional;
 public interface CartRepository extends JpaRepository<Cart, Long> {
     Optional<Cart> findByUser(User user);
     Optional<Cart> findByGuestIdentifier(String guestIdentifier);
+
+    // SELECT ... FOR UPDATE: a locking read also sees a cart committed after this transaction's snapshot
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cart c WHERE c.user = :user")
+    Optional<Cart> findByUserForUpdate(@Param("user") User user);
     // Cart saveCart(Cart cart);
 }
\ No newline at end of file
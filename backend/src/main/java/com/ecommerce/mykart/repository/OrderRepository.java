@@ -1,12 +1,50 @@
 package com.ecommerce.mykart.repository;
 
+import com.ecommerce.mykart.dto.OrderSummaryDTO;
 import com.ecommerce.mykart.model.Order;
 import com.ecommerce.mykart.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUser(User user);
-}
\ No newline at end of file
+
+    // First page of order history, newest first. The orders are read in idx_orders_user_date order
+    // and the LIMIT stops the scan; item counts are per-row subqueries on the order_id foreign key
+    // index, evaluated only for the orders on the page (a join with GROUP BY would aggregate every
+    // order the user has and then sort)
+    @Query("SELECT new com.ecommerce.mykart.dto.OrderSummaryDTO(o.id, o.orderDate, o.totalAmount, o.status, " +
+           "(SELECT COUNT(i.id) FROM OrderItem i WHERE i.order = o), " +
+           "(SELECT COALESCE(SUM(i.quantity), 0) FROM OrderItem i WHERE i.order = o)) " +
+           "FROM Order o " +
+           "WHERE o.user.id = :userId " +
+           "ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderSummaryDTO> findOrderSummaries(@Param("userId") Long userId, Pageable pageable);
+
+    // Subsequent pages: seek past the (orderDate, id) of the last row already returned
+    @Query("SELECT new com.ecommerce.mykart.dto.OrderSummaryDTO(o.id, o.orderDate, o.totalAmount, o.status, " +
+           "(SELECT COUNT(i.id) FROM OrderItem i WHERE i.order = o), " +
+           "(SELECT COALESCE(SUM(i.quantity), 0) FROM OrderItem i WHERE i.order = o)) " +
+           "FROM Order o " +
+           "WHERE o.user.id = :userId " +
+           "AND (o.orderDate < :beforeDate OR (o.orderDate = :beforeDate AND o.id < :beforeId)) " +
+           "ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderSummaryDTO> findOrderSummariesBefore(@Param("userId") Long userId,
+                                                   @Param("beforeDate") LocalDateTime beforeDate,
+                                                   @Param("beforeId") Long beforeId,
+                                                   Pageable pageable);
+
+    // Owner check happens in SQL; items and products are fetched in the same statement
+    @Query("SELECT DISTINCT o FROM Order o " +
+           "LEFT JOIN FETCH o.orderItems i " +
+           "LEFT JOIN FETCH i.product " +
+           "WHERE o.id = :orderId AND o.user.id = :userId")
+    Optional<Order> findByIdAndUserIdWithItems(@Param("orderId") Long orderId, @Param("userId") Long userId);
+}
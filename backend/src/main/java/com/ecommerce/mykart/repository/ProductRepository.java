@@ -1,12 +1,28 @@
 package com.ecommerce.mykart.repository;
 
 import com.ecommerce.mykart.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByNameContainingIgnoreCase(String name);
+
+    // Substring match on category, case-insensitive under MySQL's default collation. A LIKE with a
+    // leading wildcard cannot seek, so the few distinct category names are matched by scanning the
+    // narrow idx_products_category alone (no row reads), and the products in the matching
+    // categories are then fetched through the same index, instead of reading every product row.
+    // Results are cached per category; any write to products invalidates the region.
+    @Query("SELECT p FROM Product p WHERE p.category IN (SELECT c.category FROM Product c " +
+           "WHERE c.category LIKE %?#{escape([0])}% ESCAPE ?#{escapeCharacter()})")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "product-queries")
+    })
     List<Product> findByCategoryContainingIgnoreCase(String category);
 }
\ No newline at end of file
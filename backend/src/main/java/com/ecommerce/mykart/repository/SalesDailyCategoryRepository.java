@@ -0,0 +1,12 @@
+package com.ecommerce.mykart.repository;
+
+import com.ecommerce.mykart.model.SalesDailyCategory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesDailyCategoryRepository extends JpaRepository<SalesDailyCategory, Long> {
+    List<SalesDailyCategory> findBySalesDateBetweenOrderBySalesDateAscCategoryAsc(LocalDate from, LocalDate to);
+}
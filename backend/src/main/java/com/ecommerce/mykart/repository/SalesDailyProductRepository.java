@@ -0,0 +1,21 @@
+package com.ecommerce.mykart.repository;
+
+import com.ecommerce.mykart.dto.ProductSalesDTO;
+import com.ecommerce.mykart.model.SalesDailyProduct;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesDailyProductRepository extends JpaRepository<SalesDailyProduct, Long> {
+    @Query("SELECT new com.ecommerce.mykart.dto.ProductSalesDTO(s.productId, p.name, SUM(s.units), SUM(s.revenue), SUM(s.orderCount)) " +
+           "FROM SalesDailyProduct s, Product p " +
+           "WHERE p.id = s.productId AND s.salesDate BETWEEN :from AND :to " +
+           "GROUP BY s.productId, p.name " +
+           "ORDER BY SUM(s.revenue) DESC")
+    List<ProductSalesDTO> findTopProducts(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+}
@@ -0,0 +1,73 @@
+package com.ecommerce.mykart.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt encoder with a configured cost. Hashes stored with a lower cost report
+ * {@link #upgradeEncoding(String)} so they are rehashed at the configured cost on the next
+ * successful login; stronger hashes are left alone. The cost must be the same on every
+ * instance, otherwise instances would keep rehashing each other's passwords, so calibration
+ * only suggests a value for password.bcrypt.cost.
+ */
+public class AdaptiveBCryptPasswordEncoder implements PasswordEncoder {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveBCryptPasswordEncoder.class);
+
+    private static final int CALIBRATION_COST = 10;
+
+    private final int cost;
+    private final BCryptPasswordEncoder delegate;
+
+    public AdaptiveBCryptPasswordEncoder(int cost) {
+        this.cost = cost;
+        this.delegate = new BCryptPasswordEncoder(cost);
+    }
+
+    /**
+     * The highest cost whose hash time on this hardware stays within the target. Each cost
+     * step doubles the work, so one timed hash at a reference cost is enough.
+     */
+    public static int calibrate(long targetMs, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(CALIBRATION_COST);
+        probe.encode("calibration-warmup");
+
+        long start = System.nanoTime();
+        probe.encode("calibration-password");
+        double elapsedMs = Math.max(0.1, (System.nanoTime() - start) / 1_000_000.0);
+
+        int steps = (int) Math.floor(Math.log(targetMs / elapsedMs) / Math.log(2));
+        int cost = Math.max(minCost, Math.min(maxCost, CALIBRATION_COST + steps));
+        logger.info("BCrypt cost {} took {} ms; cost {} would meet a {} ms target on this host",
+                CALIBRATION_COST, String.format("%.1f", elapsedMs), cost, targetMs);
+        return cost;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // BCrypt hashes look like $2a$10$...; the two digits are the cost
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) < cost;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
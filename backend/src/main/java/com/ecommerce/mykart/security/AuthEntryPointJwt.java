@@ -18,13 +18,9 @@ public class AuthEntryPointJwt implements AuthenticationEntryPoint {
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response,
                          AuthenticationException authException) throws IOException, ServletException {
-        logger.error("Unauthorized error: {}", authException.getMessage());
-        logger.error("Request URI: {}", request.getRequestURI());
-        logger.error("Request method: {}", request.getMethod());
-        // Log all headers
-        request.getHeaderNames().asIterator().forEachRemaining(headerName -> {
-            logger.error("Header: {} = {}", headerName, request.getHeader(headerName));
-        });
+        // Routine for expired or missing tokens; the access log already records the 401
+        logger.debug("Unauthorized error on {} {}: {}", request.getMethod(), request.getRequestURI(),
+                authException.getMessage());
         response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Error: Unauthorized");
     }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.ecommerce.mykart.security;
 
+import com.ecommerce.mykart.config.AccessLogFilter;
 import com.ecommerce.mykart.security.JwtUtils;
 import com.ecommerce.mykart.security.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +11,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,29 +21,47 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates requests that carry a bearer token. A token that is present but invalid,
+ * expired or revoked is rejected with 401 even on public routes, so clients renew it instead
+ * of silently being served as a guest (e.g. an empty guest cart). The /api/auth endpoints are
+ * exempt: they take whatever token the client still has (refresh, sign out).
+ */
 public class AuthTokenFilter extends OncePerRequestFilter {
+    private static final String AUTH_PATH_PREFIX = "/api/auth/";
+
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private AuthEntryPointJwt unauthorizedHandler;
+
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        String jwt = parseJwt(request);
+        boolean authenticated = false;
         try {
-            logger.info("Processing request: {} {}", request.getMethod(), request.getRequestURI());
-            String jwt = parseJwt(request);
             if (jwt != null) {
-                logger.info("JWT token found in request");
-                if (jwtUtils.validateJwtToken(jwt)) {
-                    logger.info("JWT token is valid");
-                    String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                    logger.info("Username from token: {}", username);
+                Claims claims = jwtUtils.getValidatedClaims(jwt);
+                if (claims != null && claims.getId() != null && tokenRevocationService.isRevoked(claims.getId())) {
+                    logger.debug("JWT token has been revoked");
+                } else if (claims != null) {
+                    String username = claims.getSubject();
 
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    // Tokens carry the principal; only legacy tokens without claims hit the database
+                    UserDetails userDetails = jwtUtils.buildUserDetailsFromClaims(claims);
+                    if (userDetails == null) {
+                        userDetails = userDetailsService.loadUserByUsername(username);
+                    }
                     // Create the authentication token with the authorities list to make it authenticated
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
@@ -50,17 +71,25 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
-                    logger.info("Authentication set in SecurityContext and marked as authenticated");
+                    if (userDetails instanceof UserDetailsImpl) {
+                        request.setAttribute(AccessLogFilter.USER_ID_ATTRIBUTE, ((UserDetailsImpl) userDetails).getId());
+                    }
+                    authenticated = true;
+                    logger.debug("Authenticated request for {}", username);
                 } else {
-                    logger.warn("JWT token is invalid");
+                    logger.debug("JWT token is invalid");
                 }
-            } else {
-                logger.warn("No JWT token found in request");
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e.getMessage(), e);
         }
 
+        if (jwt != null && !authenticated && !request.getServletPath().startsWith(AUTH_PATH_PREFIX)) {
+            unauthorizedHandler.commence(request, response,
+                    new BadCredentialsException("Invalid, expired or revoked access token"));
+            return;
+        }
+
         filterChain.doFilter(request, response);
     }
 
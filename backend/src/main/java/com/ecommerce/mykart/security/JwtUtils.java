@@ -1,64 +1,153 @@
 package com.ecommerce.mykart.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.Date;
-import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
-public class JwtUtils {
+public class JwtUtils implements MeterBinder {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    // Claim names carrying the principal so requests can be authenticated without a user lookup
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_FIRST_NAME = "fn";
+    static final String CLAIM_LAST_NAME = "ln";
+    static final String CLAIM_AUTHORITIES = "auth";
+
+    @Autowired
+    private JwtVerifier jwtVerifier;
 
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
+    // Set once the meter registry binds; validation is simply not timed before that
+    private volatile Timer validTokenTimer;
+    private volatile Timer invalidTokenTimer;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        validTokenTimer = Timer.builder("mykart.jwt.validation")
+                .description("Time to verify an access token")
+                .tag("result", "valid").register(registry);
+        invalidTokenTimer = Timer.builder("mykart.jwt.validation")
+                .description("Time to verify an access token")
+                .tag("result", "invalid").register(registry);
+        FunctionCounter.builder("mykart.cache.requests", jwtVerifier, JwtVerifier::getCacheHits)
+                .tag("cache", "verified-jwt").tag("result", "hit").register(registry);
+        FunctionCounter.builder("mykart.cache.requests", jwtVerifier, JwtVerifier::getCacheMisses)
+                .tag("cache", "verified-jwt").tag("result", "miss").register(registry);
+        Gauge.builder("mykart.cache.size", jwtVerifier, JwtVerifier::getCacheSize)
+                .tag("cache", "verified-jwt").register(registry);
+    }
+
     public String generateJwtToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        return generateJwtToken((UserDetails) authentication.getPrincipal());
+    }
 
-        return Jwts.builder()
+    public String generateJwtToken(UserDetails userPrincipal) {
+        List<String> authorities = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+
+        JwtBuilder builder = Jwts.builder()
                 .setSubject((userPrincipal.getUsername()))
+                .claim(CLAIM_AUTHORITIES, authorities);
+        if (userPrincipal instanceof UserDetailsImpl) {
+            UserDetailsImpl details = (UserDetailsImpl) userPrincipal;
+            builder.claim(CLAIM_USER_ID, details.getId())
+                    .claim(CLAIM_FIRST_NAME, details.getFirstName())
+                    .claim(CLAIM_LAST_NAME, details.getLastName());
+        }
+
+        return builder
+                // Token id, used to revoke this token before it expires
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .setHeaderParam(JwsHeader.KEY_ID, jwtVerifier.getCurrentKeyId())
+                .signWith(jwtVerifier.getCurrentKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key key() {
-        // Use the secret directly instead of trying to decode it as Base64
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    public String getUserNameFromJwtToken(String token) {
+        return jwtVerifier.verify(token).getSubject();
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+    /**
+     * Verify the token and return its claims in a single parse, or null if it is invalid.
+     */
+    public Claims getValidatedClaims(String authToken) {
+        long start = System.nanoTime();
+        Claims claims = verify(authToken);
+        Timer timer = claims != null ? validTokenTimer : invalidTokenTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return claims;
     }
 
-    public boolean validateJwtToken(String authToken) {
+    private Claims verify(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
+            return jwtVerifier.verify(authToken);
         } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            logger.debug("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
+            logger.debug("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
+            logger.debug("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            logger.debug("JWT claims string is empty: {}", e.getMessage());
+        } catch (io.jsonwebtoken.security.SecurityException e) {
+            logger.debug("Invalid JWT signature: {}", e.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Build the principal straight from verified claims. Returns null for tokens issued
+     * before the user id was embedded, which callers resolve through the database instead.
+     */
+    public UserDetailsImpl buildUserDetailsFromClaims(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        if (userId == null) {
+            return null;
         }
 
-        return false;
+        @SuppressWarnings("unchecked")
+        List<String> authorities = claims.get(CLAIM_AUTHORITIES, List.class);
+        List<GrantedAuthority> grantedAuthorities = authorities != null
+                ? authorities.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList())
+                : List.of(new SimpleGrantedAuthority("USER"));
+
+        return new UserDetailsImpl(
+                userId.longValue(),
+                claims.getSubject(),
+                claims.get(CLAIM_FIRST_NAME, String.class),
+                claims.get(CLAIM_LAST_NAME, String.class),
+                null,
+                grantedAuthorities);
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return getValidatedClaims(authToken) != null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.ecommerce.mykart.security;
+
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-pass JWT verification with precomputed HMAC keys and one shared, thread-safe
+ * parser. Keys are selected by the {@code kid} header so secrets can be rotated: tokens
+ * signed with a previous key keep verifying until they expire.
+ *
+ * Recently verified tokens are cached by SHA-256 hash until they expire, so repeated
+ * requests with the same token skip the HMAC check and JSON parsing. Expired entries are
+ * swept on a schedule; while the cache is full, new tokens are verified but not cached.
+ * The cache holds a read-only snapshot of the claims and every hit gets its own copy, so
+ * nothing a caller does to its {@link Claims} can leak into another request.
+ */
+@Component
+public class JwtVerifier {
+
+    private final String currentKeyId;
+    private final Key currentKey;
+    private final Map<String, Key> keysById;
+    private final JwtParser parser;
+
+    private final int cacheMaxSize;
+    private final ConcurrentHashMap<String, VerifiedToken> cache = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    public JwtVerifier(@Value("${jwt.key-id:k1}") String currentKeyId,
+                       @Value("${jwt.secret}") String currentSecret,
+                       @Value("${jwt.previous-secrets:}") String previousSecrets,
+                       @Value("${jwt.verified-cache.max-size:50000}") int cacheMaxSize) {
+        this.currentKeyId = currentKeyId;
+        this.currentKey = hmacKey(currentSecret);
+        this.cacheMaxSize = cacheMaxSize;
+
+        Map<String, Key> keys = new HashMap<>();
+        // Format: kid:secret,kid:secret
+        for (String entry : previousSecrets.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator > 0) {
+                keys.put(entry.substring(0, separator).trim(), hmacKey(entry.substring(separator + 1).trim()));
+            }
+        }
+        keys.put(currentKeyId, currentKey);
+        this.keysById = Collections.unmodifiableMap(keys);
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        String keyId = header.getKeyId();
+                        // Tokens issued before key ids were introduced carry no kid
+                        if (keyId == null) {
+                            return JwtVerifier.this.currentKey;
+                        }
+                        Key key = keysById.get(keyId);
+                        if (key == null) {
+                            throw new UnsupportedJwtException("Unknown signing key id: " + keyId);
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
+    public String getCurrentKeyId() {
+        return currentKeyId;
+    }
+
+    public Key getCurrentKey() {
+        return currentKey;
+    }
+
+    /**
+     * Verify signature and expiry and return the token's claims.
+     *
+     * @throws JwtException             if the token is invalid or expired
+     * @throws IllegalArgumentException if the token is empty
+     */
+    public Claims verify(String token) {
+        String hash = hash(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached = cache.get(hash);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                cacheHits.increment();
+                return Jwts.claims(new LinkedHashMap<>(cached.claims));
+            }
+            cache.remove(hash, cached);
+        }
+        cacheMisses.increment();
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            // Full until the next sweep: just don't cache this one
+            if (cache.size() < cacheMaxSize) {
+                cache.put(hash, new VerifiedToken(snapshot(claims), expiration.getTime()));
+            }
+        }
+        return claims;
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * Drop a token from the verified cache, e.g. after it has been revoked.
+     */
+    public void invalidate(String token) {
+        cache.remove(hash(token));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.verified-cache.sweep-ms:30000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    private static String hash(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT string is empty");
+        }
+        // A fresh digest per call is cheap and, unlike a ThreadLocal, not one per virtual thread
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    // Copies the claims, including list values such as the authorities, into read-only collections
+    private static Map<String, Object> snapshot(Claims claims) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : claims.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof List<?> list) {
+                value = Collections.unmodifiableList(new ArrayList<>(list));
+            }
+            copy.put(entry.getKey(), value);
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static Key hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class VerifiedToken {
+        private final Map<String, Object> claims;
+        private final long expiresAt;
+
+        VerifiedToken(Map<String, Object> claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
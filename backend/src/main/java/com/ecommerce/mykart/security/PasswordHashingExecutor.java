@@ -0,0 +1,68 @@
+package com.ecommerce.mykart.security;
+
+import com.ecommerce.mykart.config.SqlRequestStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded pool for BCrypt work (login and signup) so a login storm cannot
+ * occupy every request thread. When the queue is full, {@link #submit(Supplier)} throws
+ * {@link RejectedExecutionException} immediately and the caller answers 429.
+ */
+@Component
+public class PasswordHashingExecutor implements MeterBinder {
+
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingExecutor(@Value("${password.hashing.threads:0}") int threads,
+                                   @Value("${password.hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * @throws RejectedExecutionException if the pool and its queue are saturated
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        // Statements run by the task (user lookup, signup insert) count toward the calling request
+        return CompletableFuture.supplyAsync(SqlRequestStats.propagate(task), executor);
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mykart.password.hashing.queued", executor, e -> e.getQueue().size())
+                .description("BCrypt tasks waiting for a hashing thread").register(registry);
+        Gauge.builder("mykart.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
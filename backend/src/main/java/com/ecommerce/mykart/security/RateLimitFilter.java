@@ -0,0 +1,179 @@
+package com.ecommerce.mykart.security;
+
+import com.ecommerce.mykart.dto.MessageResponse;
+import com.ecommerce.mykart.service.TokenBucket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-client rate limiting. Every request is charged to a token bucket for its client IP
+ * and, when authenticated, to one for its user id, with separate limits per route group.
+ * The client IP is the remote address after Tomcat has applied trusted X-Forwarded-For
+ * headers (server.forward-headers-strategy), so clients behind a proxy get their own buckets.
+ * Buckets are lock-free and live in concurrent maps; fully refilled buckets are swept
+ * periodically, which loses no state since a full bucket is the same as a new one.
+ */
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ratelimit.auth.rate:5}")
+    private double authRate;
+    @Value("${ratelimit.auth.burst:20}")
+    private int authBurst;
+
+    @Value("${ratelimit.products.rate:50}")
+    private double productsRate;
+    @Value("${ratelimit.products.burst:100}")
+    private int productsBurst;
+
+    @Value("${ratelimit.cart.rate:20}")
+    private double cartRate;
+    @Value("${ratelimit.cart.burst:40}")
+    private int cartBurst;
+
+    @Value("${ratelimit.default.rate:30}")
+    private double defaultRate;
+    @Value("${ratelimit.default.burst:60}")
+    private int defaultBurst;
+
+    private RouteGroup auth;
+    private RouteGroup products;
+    private RouteGroup cart;
+    private RouteGroup other;
+
+    @PostConstruct
+    public void init() {
+        auth = new RouteGroup("auth", authRate, authBurst);
+        products = new RouteGroup("products", productsRate, productsBurst);
+        cart = new RouteGroup("cart", cartRate, cartBurst);
+        other = new RouteGroup("default", defaultRate, defaultBurst);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RouteGroup group = groupFor(request.getRequestURI());
+
+        long waitNanos = group.byIp.computeIfAbsent(request.getRemoteAddr(), k -> group.newBucket()).tryAcquire();
+        if (waitNanos == 0) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
+                Long userId = ((UserDetailsImpl) authentication.getPrincipal()).getId();
+                waitNanos = group.byUser.computeIfAbsent(userId, k -> group.newBucket()).tryAcquire();
+            }
+        }
+
+        if (waitNanos == 0) {
+            group.allowed.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        group.rejected.increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new MessageResponse("Too many requests"));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (RouteGroup group : new RouteGroup[] {auth, products, cart, other}) {
+            FunctionCounter.builder("mykart.ratelimit.requests", group.allowed, LongAdder::sum)
+                    .tag("group", group.name).tag("outcome", "allowed").register(registry);
+            FunctionCounter.builder("mykart.ratelimit.requests", group.rejected, LongAdder::sum)
+                    .tag("group", group.name).tag("outcome", "rejected").register(registry);
+        }
+    }
+
+    private RouteGroup groupFor(String uri) {
+        if (uri.startsWith("/api/auth/")) {
+            return auth;
+        }
+        if (uri.startsWith("/api/products") || uri.startsWith("/api/catalog")) {
+            return products;
+        }
+        if (uri.startsWith("/api/cart")) {
+            return cart;
+        }
+        return other;
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.sweep-ms:30000}")
+    public void evictIdleBuckets() {
+        for (RouteGroup group : new RouteGroup[] {auth, products, cart, other}) {
+            group.byIp.values().removeIf(TokenBucket::isIdle);
+            group.byUser.values().removeIf(TokenBucket::isIdle);
+        }
+    }
+
+    /**
+     * Allowed/rejected counts and tracked clients per route group.
+     */
+    public Map<String, Map<String, Long>> getMetrics() {
+        Map<String, Map<String, Long>> metrics = new LinkedHashMap<>();
+        for (RouteGroup group : new RouteGroup[] {auth, products, cart, other}) {
+            Map<String, Long> values = new LinkedHashMap<>();
+            values.put("allowed", group.allowed.sum());
+            values.put("rejected", group.rejected.sum());
+            values.put("trackedIps", (long) group.byIp.size());
+            values.put("trackedUsers", (long) group.byUser.size());
+            metrics.put(group.name, values);
+        }
+        return metrics;
+    }
+
+    private static class RouteGroup {
+        private final String name;
+        private final double rate;
+        private final int burst;
+        private final ConcurrentHashMap<String, TokenBucket> byIp = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, TokenBucket> byUser = new ConcurrentHashMap<>();
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        RouteGroup(String name, double rate, int burst) {
+            this.name = name;
+            this.rate = rate;
+            this.burst = burst;
+        }
+
+        TokenBucket newBucket() {
+            return new TokenBucket(rate, burst);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.mykart.security;
+
+import com.ecommerce.mykart.model.RevokedToken;
+import com.ecommerce.mykart.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation list for access tokens, keyed by their jti claim. Every request is checked
+ * against an in-memory Bloom filter; only a (rare) positive hit is confirmed against the
+ * revoked_tokens table. The filter is rebuilt from the table at startup and periodically,
+ * which also drops entries for tokens that have since expired and picks up revocations
+ * made by other instances.
+ *
+ * Local revocations are added to the filter once their transaction commits, and are kept in
+ * a side map until a rebuild has read the table after that point, so a revocation committed
+ * while a rebuild is running is re-applied to the new filter instead of being lost.
+ */
+@Service
+public class TokenRevocationService {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${revocation.bloom.expected-insertions:100000}")
+    private int expectedInsertions;
+
+    @Value("${revocation.bloom.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    // Token id -> System.nanoTime() when it was added to the filter, after its commit
+    private final Map<String, Long> recentRevocations = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(tokenId);
+    }
+
+    @Transactional
+    public void revoke(String tokenId, LocalDateTime expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt));
+        // Only once the row is visible: a rebuild that reads the table before the commit would
+        // miss it, and the filter must not claim a revocation that may still roll back
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markRevoked(tokenId);
+                }
+            });
+        } else {
+            markRevoked(tokenId);
+        }
+    }
+
+    private void markRevoked(String tokenId) {
+        recentRevocations.put(tokenId, System.nanoTime());
+        filter.add(tokenId);
+    }
+
+    @Scheduled(fixedDelayString = "${revocation.refresh-ms:60000}", initialDelayString = "${revocation.refresh-ms:60000}")
+    @Transactional
+    public void purgeAndRebuild() {
+        int purged = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired revoked-token entries", purged);
+        }
+        rebuild();
+    }
+
+    private void rebuild() {
+        long readStartedAt = System.nanoTime();
+        List<String> tokenIds = revokedTokenRepository.findActiveTokenIds(LocalDateTime.now());
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, tokenIds.size() * 2), falsePositiveRate);
+        tokenIds.forEach(rebuilt::add);
+        filter = rebuilt;
+
+        // Revocations marked from here on go to the new filter. Those marked earlier went to the
+        // old one and may have committed after the read: add them again. Entries marked before
+        // the read started were committed by then, so the read included them.
+        for (Map.Entry<String, Long> entry : recentRevocations.entrySet()) {
+            rebuilt.add(entry.getKey());
+            if (entry.getValue() - readStartedAt < 0) {
+                recentRevocations.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+}
@@ -21,12 +21,22 @@ public class UserDetailsImpl implements UserDetails {
     @JsonIgnore
     private String password;
 
+    private Collection<? extends GrantedAuthority> authorities;
+
     public UserDetailsImpl(Long id, String username, String firstName, String lastName, String password) {
+        // Return a default authority for all users
+        this(id, username, firstName, lastName, password,
+                Collections.singletonList(new SimpleGrantedAuthority("USER")));
+    }
+
+    public UserDetailsImpl(Long id, String username, String firstName, String lastName, String password,
+                           Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
         this.username = username;
         this.firstName = firstName;
         this.lastName = lastName;
         this.password = password;
+        this.authorities = authorities;
     }
 
     public static UserDetailsImpl build(User user) {
@@ -38,6 +48,16 @@ public class UserDetailsImpl implements UserDetails {
                 user.getPassword());
     }
 
+    public static UserDetailsImpl build(User user, Collection<? extends GrantedAuthority> authorities) {
+        return new UserDetailsImpl(
+                user.getId(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getPassword(),
+                authorities);
+    }
+
     public Long getId() {
         return id;
     }
@@ -52,8 +72,7 @@ public class UserDetailsImpl implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // Return a default authority for all users
-        return Collections.singletonList(new SimpleGrantedAuthority("USER"));
+        return authorities;
     }
 
     @Override
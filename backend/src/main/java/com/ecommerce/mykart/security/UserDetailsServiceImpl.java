@@ -3,23 +3,59 @@ package com.ecommerce.mykart.security;
 import com.ecommerce.mykart.model.User;
 import com.ecommerce.mykart.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     UserRepository userRepository;
 
+    // Comma-separated emails granted the ADMIN authority (e.g. for /api/admin exports)
+    @Value("#{'${admin.emails:}'.split(',')}")
+    Set<String> adminEmails;
+
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
 
-        return UserDetailsImpl.build(user);
+        return UserDetailsImpl.build(user, authoritiesFor(user.getEmail()));
+    }
+
+    /**
+     * Called by the authentication provider after a successful login when the stored
+     * hash needs upgrading (e.g. its BCrypt cost differs from the current target).
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+
+        return UserDetailsImpl.build(user, authoritiesFor(user.getEmail()));
+    }
+
+    public List<GrantedAuthority> authoritiesFor(String email) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority("USER"));
+        if (adminEmails.contains(email)) {
+            authorities.add(new SimpleGrantedAuthority("ADMIN"));
+        }
+        return authorities;
     }
 }
\ No newline at end of file
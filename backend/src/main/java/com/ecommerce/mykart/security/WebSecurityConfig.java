@@ -3,16 +3,21 @@ package com.ecommerce.mykart.security;
 import com.ecommerce.mykart.security.AuthEntryPointJwt;
 import com.ecommerce.mykart.security.AuthTokenFilter;
 import com.ecommerce.mykart.security.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -24,23 +29,49 @@ import java.util.Arrays;
 
 @Configuration
 public class WebSecurityConfig {
+    private static final Logger logger = LoggerFactory.getLogger(WebSecurityConfig.class);
+
     @Autowired
     UserDetailsServiceImpl userDetailsService;
 
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    // Same value on every instance; stored hashes below it are upgraded on login
+    @Value("${password.bcrypt.cost:12}")
+    private int bcryptCost;
+
+    // Only logs the cost that would meet this target on the current host; 0 skips calibration
+    @Value("${password.bcrypt.target-ms:100}")
+    private long bcryptTargetMs;
+
+    @Value("${password.bcrypt.min-cost:10}")
+    private int bcryptMinCost;
+
+    @Value("${password.bcrypt.max-cost:14}")
+    private int bcryptMaxCost;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
     }
 
+    @Bean
+    public RateLimitFilter rateLimitFilter() {
+        return new RateLimitFilter();
+    }
+
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
 
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehash stored passwords whose BCrypt cost is below the configured cost
+        authProvider.setUserDetailsPasswordService(userDetailsService);
 
         return authProvider;
     }
@@ -52,7 +83,23 @@ public class WebSecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new AdaptiveBCryptPasswordEncoder(bcryptCost);
+    }
+
+    // Only produces a log line, so it runs on a hashing thread once the app is ready
+    @EventListener(ApplicationReadyEvent.class)
+    public void calibrateBCryptCost() {
+        if (bcryptTargetMs <= 0) {
+            return;
+        }
+        passwordHashingExecutor.submit(
+                        () -> AdaptiveBCryptPasswordEncoder.calibrate(bcryptTargetMs, bcryptMinCost, bcryptMaxCost))
+                .thenAccept(suggested -> {
+                    if (suggested != bcryptCost) {
+                        logger.warn("password.bcrypt.cost is {} but {} would meet the {} ms target on this host; "
+                                + "change it for all instances at once", bcryptCost, suggested, bcryptTargetMs);
+                    }
+                });
     }
 
     @Bean
@@ -74,9 +121,17 @@ public class WebSecurityConfig {
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> {
-                    auth.requestMatchers("/error").permitAll()
+                    // The initial REQUEST dispatch was already authorized; async results
+                    // (CompletableFuture, WebAsyncTask) are re-dispatched without the JWT filter
+                    auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                            .requestMatchers("/error").permitAll()
+                            .requestMatchers("/actuator/health").permitAll()
+                            // Metrics expose routes, error rates and pool sizes; scrape with an admin token
+                            .requestMatchers("/actuator/prometheus").hasAuthority("ADMIN")
+                            .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
                             .requestMatchers("/api/auth/**").permitAll()
                             .requestMatchers("/api/products/**").permitAll()
+                            .requestMatchers(HttpMethod.GET, "/api/catalog/**").permitAll()
                             .requestMatchers("/api/cart/test").permitAll()
                             .requestMatchers(HttpMethod.POST, "/api/cart/items").permitAll()
                             .requestMatchers(HttpMethod.GET, "/api/cart/**").permitAll()
@@ -90,6 +145,8 @@ public class WebSecurityConfig {
         http.authenticationProvider(authenticationProvider());
 
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        // After the JWT filter so authenticated requests can also be limited per user id
+        http.addFilterAfter(rateLimitFilter(), AuthTokenFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,103 @@
+package com.ecommerce.mykart.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Admission control for the write paths that pile onto the same rows during a flash sale.
+ * Add-to-cart is gated by a per-product bucket and a global bucket; checkout by a global
+ * bucket. Requests that cannot be admitted are turned away before any database work, with
+ * the time until the next token so the client can back off; nothing waits on a request thread.
+ */
+@Service
+public class AdmissionControlService {
+
+    @Value("${admission.enabled:false}")
+    private boolean enabled;
+
+    @Value("${admission.cart.global-rate:500}")
+    private double cartGlobalRate;
+
+    @Value("${admission.cart.product-rate:50}")
+    private double cartProductRate;
+
+    @Value("${admission.checkout.global-rate:200}")
+    private double checkoutGlobalRate;
+
+    // Burst is expressed in seconds' worth of the sustained rate
+    @Value("${admission.burst-seconds:1}")
+    private double burstSeconds;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    private TokenBucket cartGlobalBucket;
+    private TokenBucket checkoutGlobalBucket;
+    // Only products in the catalog get a bucket, so the map is bounded by the catalog size
+    private final ConcurrentMap<Long, TokenBucket> productBuckets = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        cartGlobalBucket = newBucket(cartGlobalRate);
+        checkoutGlobalBucket = newBucket(checkoutGlobalRate);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Admit an add-to-cart for the given product.
+     *
+     * @return 0 if admitted, otherwise nanoseconds the client should wait before retrying
+     */
+    public long admitAddToCart(Long productId) {
+        if (!enabled) {
+            return 0;
+        }
+        // Unknown products are rejected by CartService; they only count against the global bucket
+        TokenBucket productBucket = productId != null && productCatalog.contains(productId)
+                ? productBuckets.computeIfAbsent(productId, id -> newBucket(cartProductRate))
+                : null;
+        if (productBucket != null) {
+            long wait = productBucket.tryAcquire();
+            if (wait > 0) {
+                return wait;
+            }
+        }
+        long wait = cartGlobalBucket.tryAcquire();
+        if (wait > 0 && productBucket != null) {
+            productBucket.refund();
+        }
+        return wait;
+    }
+
+    /**
+     * Admit a checkout.
+     *
+     * @return 0 if admitted, otherwise nanoseconds the client should wait before retrying
+     */
+    public long admitCheckout() {
+        if (!enabled) {
+            return 0;
+        }
+        return checkoutGlobalBucket.tryAcquire();
+    }
+
+    // A refilled bucket carries no state, so dropping it only costs recreating it on the next request
+    @Scheduled(fixedDelayString = "${admission.sweep-ms:30000}")
+    public void evictIdleBuckets() {
+        productBuckets.values().removeIf(TokenBucket::isIdle);
+    }
+
+    private TokenBucket newBucket(double rate) {
+        int burst = Math.max(1, (int) Math.round(rate * burstSeconds));
+        return new TokenBucket(rate, burst);
+    }
+}
@@ -6,7 +6,10 @@ import com.ecommerce.mykart.model.Product;
 import com.ecommerce.mykart.model.User;
 import com.ecommerce.mykart.repository.CartRepository;
 import com.ecommerce.mykart.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +22,7 @@ import java.util.UUID;
 @Service
 @Transactional
 public class CartService {
+    private static final Logger logger = LoggerFactory.getLogger(CartService.class);
     
     @Autowired
     private CartRepository cartRepository;
@@ -26,6 +30,31 @@ public class CartService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ShopMetrics shopMetrics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Existing cart for an authenticated user, without creating one
+     */
+    @Transactional(readOnly = true)
+    public Optional<Cart> findCart(User user) {
+        return cartRepository.findByUser(user);
+    }
+
+    /**
+     * Existing cart for a guest, without creating one
+     */
+    @Transactional(readOnly = true)
+    public Optional<Cart> findGuestCart(String guestIdentifier) {
+        if (guestIdentifier == null || guestIdentifier.isEmpty()) {
+            return Optional.empty();
+        }
+        return cartRepository.findByGuestIdentifier(guestIdentifier);
+    }
+
     /**
      * Get or create cart for authenticated user
      */
@@ -34,14 +63,20 @@ public class CartService {
         if (existingCart.isPresent()) {
             return existingCart.get();
         }
-        
-        // Create new cart with proper initialization
-        Cart cart = new Cart();
-        cart.setUser(user);
-        cart.setCartItems(new ArrayList<>());
-        
-        // Save and return the cart with generated ID
-        return cartRepository.save(cart);
+
+        // INSERT IGNORE in the caller's transaction: when a concurrent request created the cart
+        // first, uk_carts_user_id turns the insert into a no-op instead of an error, and no
+        // second pool connection is needed as it would be for a separate transaction
+        int inserted = jdbcTemplate.update("INSERT IGNORE INTO carts (user_id) VALUES (?)", user.getId());
+        if (inserted > 0) {
+            shopMetrics.cartCreated();
+        } else {
+            logger.debug("Cart for user {} created concurrently, using the existing one", user.getId());
+        }
+
+        // A cart created by another transaction is not in this one's snapshot; a locking read sees it
+        return cartRepository.findByUserForUpdate(user)
+                .orElseThrow(() -> new IllegalStateException("Cart for user " + user.getId() + " not found after creation"));
     }
 
     /**
@@ -67,6 +102,7 @@ public class CartService {
         Cart cart = new Cart();
         cart.setGuestIdentifier(guestIdentifier);
         cart.setCartItems(new ArrayList<>());
+        shopMetrics.cartCreated();
         
         // Save and return the cart with generated ID
         return cartRepository.save(cart);
@@ -114,24 +150,13 @@ public class CartService {
             throw new IllegalArgumentException("Product ID and quantity must be valid");
         }
         
-        System.out.println("DEBUG: Attempting to add product with ID: " + productId);
-        
-        // Check if product exists
-        long productCount = productRepository.count();
-        System.out.println("DEBUG: Total products in database: " + productCount);
-        
         Optional<Product> productOpt = productRepository.findById(productId);
         if (!productOpt.isPresent()) {
-            System.out.println("DEBUG: Product with ID " + productId + " not found in database");
-            // List some available product IDs for debugging
-            List<Product> products = productRepository.findAll();
-            System.out.println("DEBUG: Available product IDs: ");
-            products.stream().limit(10).forEach(p -> System.out.println("  - ID: " + p.getId() + ", Name: " + p.getName()));
+            logger.debug("Product with ID {} not found", productId);
             throw new RuntimeException("Product not found with ID: " + productId);
         }
-        
+
         Product product = productOpt.get();
-        System.out.println("DEBUG: Found product - ID: " + product.getId() + ", Name: " + product.getName());
 
         // Get the product
         // Product product = productRepository.findById(productId)
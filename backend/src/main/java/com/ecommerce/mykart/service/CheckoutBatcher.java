@@ -0,0 +1,357 @@
+package com.ecommerce.mykart.service;
+
+import com.ecommerce.mykart.config.DataSourceConfig;
+import com.ecommerce.mykart.config.SqlRequestStats;
+import com.ecommerce.mykart.model.*;
+import com.ecommerce.mykart.repository.CartRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Group-commit checkout. Concurrent checkout requests are collected for a few
+ * milliseconds and written together in one transaction using multi-row inserts,
+ * so the batch pays a single commit instead of one per order. If any member of
+ * a batch fails validation, every member falls back to its own transaction via
+ * {@link OrderService#createOrderFromCart(User)}.
+ *
+ * Disabled by default; when disabled {@link #checkout(User)} simply delegates
+ * to {@link OrderService}.
+ */
+@Service
+public class CheckoutBatcher {
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutBatcher.class);
+
+    // MySQL's limit on placeholders in one prepared statement
+    private static final int MAX_PLACEHOLDERS = 65_535;
+    private static final int COLUMNS_PER_ROW = 4;
+    private static final int MAX_ROWS_PER_INSERT = MAX_PLACEHOLDERS / COLUMNS_PER_ROW;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSourceConfig dataSourceConfig;
+
+    @Value("${checkout.batching.enabled:false}")
+    private boolean enabled;
+
+    @Value("${checkout.batching.window-ms:5}")
+    private long windowMs;
+
+    @Value("${checkout.batching.max-size:64}")
+    private int maxBatchSize;
+
+    @Value("${checkout.batching.queue-capacity:4096}")
+    private int queueCapacity;
+
+    // How long a checkout may wait in the queue; once the worker has taken it, the caller
+    // waits for the outcome, since the batch may commit after any deadline
+    @Value("${checkout.batching.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private BlockingQueue<PendingCheckout> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // One order row per member, and one cart id per member in the cart_items DELETE
+        maxBatchSize = Math.min(maxBatchSize, MAX_ROWS_PER_INSERT);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        worker = new Thread(this::runLoop, "checkout-batcher");
+        worker.setDaemon(true);
+        worker.start();
+        logger.info("Checkout batching enabled: window={}ms, maxBatchSize={}", windowMs, maxBatchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Place an order from the user's cart, joining the current batch when batching is enabled.
+     */
+    public Order checkout(User user) {
+        if (!enabled) {
+            return orderService.createOrderFromCart(user);
+        }
+
+        PendingCheckout pending = new PendingCheckout(user);
+        if (!queue.offer(pending)) {
+            // Queue is full, don't make the caller wait behind the backlog
+            return orderService.createOrderFromCart(user);
+        }
+
+        try {
+            try {
+                return pending.future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Still queued: withdraw it, nothing has been written. Otherwise it is already
+                // part of a batch, and failing now could make the client retry an order that commits
+                if (queue.remove(pending)) {
+                    throw new RuntimeException("Checkout timed out in the queue before any order was placed", e);
+                }
+                return pending.future.get();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Checkout failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Checkout interrupted", e);
+        }
+    }
+
+    private void runLoop() {
+        List<PendingCheckout> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingCheckout first = queue.take();
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingCheckout next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                processBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("Unexpected error in checkout batcher: ", e);
+                batch.forEach(p -> p.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // Fail anything still queued so callers don't wait for the timeout
+        PendingCheckout leftover;
+        while (queue != null && (leftover = queue.poll()) != null) {
+            leftover.future.completeExceptionally(new IllegalStateException("Checkout batcher is shutting down"));
+        }
+    }
+
+    private void processBatch(List<PendingCheckout> batch) {
+        // A user may only appear once per batch; repeats run after the batch commits,
+        // exactly as they would have if the requests had been serialized.
+        List<PendingCheckout> members = new ArrayList<>(batch.size());
+        List<PendingCheckout> repeats = new ArrayList<>();
+        Set<Long> seenUsers = new HashSet<>();
+        for (PendingCheckout pending : batch) {
+            if (seenUsers.add(pending.user.getId())) {
+                members.add(pending);
+            } else {
+                repeats.add(pending);
+            }
+        }
+
+        Map<PendingCheckout, Order> results = null;
+        if (members.size() > 1) {
+            try {
+                // The shared statements count toward every request in the batch
+                List<SqlRequestStats> memberStats = members.stream().map(p -> p.sqlStats).toList();
+                results = SqlRequestStats.callFor(memberStats,
+                        () -> transactionTemplate.execute(status -> writeBatch(members)));
+            } catch (RuntimeException e) {
+                logger.error("Batched checkout of {} orders failed, retrying individually: ", members.size(), e);
+            }
+        }
+
+        if (results != null) {
+            results.forEach((pending, order) -> complete(pending, order));
+        } else {
+            members.forEach(this::checkoutIndividually);
+        }
+        repeats.forEach(this::checkoutIndividually);
+    }
+
+    /**
+     * Validate every member and write the whole batch. Returns null (writing nothing)
+     * if any member fails validation so the caller can fall back.
+     */
+    private Map<PendingCheckout, Order> writeBatch(List<PendingCheckout> members) {
+        List<Cart> carts = new ArrayList<>(members.size());
+        for (PendingCheckout pending : members) {
+            Optional<Cart> cart = cartRepository.findByUser(pending.user);
+            if (!cart.isPresent() || cart.get().getCartItems().isEmpty()) {
+                return null;
+            }
+            carts.add(cart.get());
+        }
+
+        LocalDateTime orderDate = LocalDateTime.now();
+        List<Order> orders = new ArrayList<>(members.size());
+        for (int i = 0; i < members.size(); i++) {
+            Cart cart = carts.get(i);
+            BigDecimal totalAmount = cart.getCartItems().stream()
+                    .map(CartItem::getPrice)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+            Order order = new Order(members.get(i).user, orderDate, totalAmount, "PENDING");
+            Set<OrderItem> orderItems = new HashSet<>();
+            for (CartItem cartItem : cart.getCartItems()) {
+                orderItems.add(new OrderItem(order, cartItem.getProduct(), cartItem.getQuantity(), cartItem.getPrice()));
+            }
+            order.setOrderItems(orderItems);
+            orders.add(order);
+        }
+
+        insertOrders(orders);
+        insertOrderItems(orders);
+
+        StringBuilder sql = new StringBuilder("DELETE FROM cart_items WHERE cart_id IN (");
+        Object[] cartIds = new Object[carts.size()];
+        for (int i = 0; i < carts.size(); i++) {
+            sql.append(i == 0 ? "?" : ",?");
+            cartIds[i] = carts.get(i).getId();
+        }
+        sql.append(")");
+        jdbcTemplate.update(sql.toString(), cartIds);
+
+        // Last, so the shared per-day rollup rows stay locked only until the commit
+        salesAnalyticsService.recordOrders(orders);
+
+        Map<PendingCheckout, Order> results = new LinkedHashMap<>();
+        for (int i = 0; i < members.size(); i++) {
+            results.put(members.get(i), orders.get(i));
+        }
+        return results;
+    }
+
+    private void insertOrders(List<Order> orders) {
+        StringBuilder sql = new StringBuilder("INSERT INTO orders (user_id, order_date, total_amount, status) VALUES ");
+        for (int i = 0; i < orders.size(); i++) {
+            sql.append(i == 0 ? "(?,?,?,?)" : ",(?,?,?,?)");
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS);
+            int idx = 1;
+            for (Order order : orders) {
+                ps.setLong(idx++, order.getUser().getId());
+                ps.setTimestamp(idx++, Timestamp.valueOf(order.getOrderDate()));
+                ps.setBigDecimal(idx++, order.getTotalAmount());
+                ps.setString(idx++, order.getStatus());
+            }
+            return ps;
+        }, keyHolder);
+
+        // MySQL returns one generated key per row, in insertion order
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < orders.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            orders.get(i).setId(id.longValue());
+        }
+    }
+
+    private void insertOrderItems(List<Order> orders) {
+        List<OrderItem> items = new ArrayList<>();
+        orders.forEach(order -> items.addAll(order.getOrderItems()));
+
+        // Large carts can exceed the placeholder limit even in a small batch
+        for (int from = 0; from < items.size(); from += MAX_ROWS_PER_INSERT) {
+            insertOrderItemRows(items.subList(from, Math.min(items.size(), from + MAX_ROWS_PER_INSERT)));
+        }
+    }
+
+    private void insertOrderItemRows(List<OrderItem> items) {
+        StringBuilder sql = new StringBuilder("INSERT INTO order_items (order_id, product_id, quantity, price) VALUES ");
+        for (int i = 0; i < items.size(); i++) {
+            sql.append(i == 0 ? "(?,?,?,?)" : ",(?,?,?,?)");
+        }
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString());
+            int idx = 1;
+            for (OrderItem item : items) {
+                ps.setLong(idx++, item.getOrder().getId());
+                ps.setLong(idx++, item.getProduct().getId());
+                ps.setInt(idx++, item.getQuantity());
+                ps.setBigDecimal(idx++, item.getPrice());
+            }
+            return ps;
+        });
+    }
+
+    private void checkoutIndividually(PendingCheckout pending) {
+        try {
+            Order order = SqlRequestStats.callFor(Collections.singletonList(pending.sqlStats),
+                    () -> orderService.createOrderFromCart(pending.user));
+            complete(pending, order);
+        } catch (Exception e) {
+            pending.future.completeExceptionally(e);
+        }
+    }
+
+    private void complete(PendingCheckout pending, Order order) {
+        // This thread has no request context, so the replica router can't tie the write to the
+        // user by itself; mark it before the caller can read its orders back
+        dataSourceConfig.markWritten(pending.user.getId());
+        pending.future.complete(order);
+    }
+
+    private static class PendingCheckout {
+        private final User user;
+        private final CompletableFuture<Order> future = new CompletableFuture<>();
+        // The caller's request, which the worker's statements are attributed to
+        private final SqlRequestStats sqlStats = SqlRequestStats.current();
+
+        PendingCheckout(User user) {
+            this.user = user;
+        }
+    }
+}
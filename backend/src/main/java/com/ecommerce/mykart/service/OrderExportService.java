@@ -0,0 +1,144 @@
+package com.ecommerce.mykart.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Streams every order line (orders joined with order_items) straight from a
+ * forward-only JDBC cursor to an output stream, one row at a time, so memory
+ * use does not grow with the size of the export.
+ */
+@Service
+public class OrderExportService {
+
+    private static final String EXPORT_SQL =
+            "SELECT o.id, o.user_id, o.order_date, o.status, o.total_amount, " +
+            "oi.id, oi.product_id, oi.quantity, oi.price " +
+            "FROM orders o JOIN order_items oi ON oi.order_id = o.id " +
+            "WHERE o.order_date >= ? AND o.order_date < ? " +
+            "ORDER BY o.id, oi.id";
+
+    private static final String CSV_HEADER =
+            "order_id,user_id,order_date,status,order_total,item_id,product_id,quantity,price";
+
+    // Bounds used when the caller does not restrict the date range
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void exportCsv(LocalDateTime from, LocalDateTime to, OutputStream out) {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            streamRows(from, to, rs -> {
+                writer.write(Long.toString(rs.getLong(1)));
+                writer.write(',');
+                writer.write(Long.toString(rs.getLong(2)));
+                writer.write(',');
+                writer.write(String.valueOf(toLocalDateTime(rs.getTimestamp(3))));
+                writer.write(',');
+                writer.write(csvEscape(rs.getString(4)));
+                writer.write(',');
+                writer.write(String.valueOf(rs.getBigDecimal(5)));
+                writer.write(',');
+                writer.write(Long.toString(rs.getLong(6)));
+                writer.write(',');
+                writer.write(Long.toString(rs.getLong(7)));
+                writer.write(',');
+                writer.write(Integer.toString(rs.getInt(8)));
+                writer.write(',');
+                writer.write(String.valueOf(rs.getBigDecimal(9)));
+                writer.newLine();
+            });
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void exportNdjson(LocalDateTime from, LocalDateTime to, OutputStream out) {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            streamRows(from, to, rs -> {
+                generator.writeStartObject();
+                generator.writeNumberField("orderId", rs.getLong(1));
+                generator.writeNumberField("userId", rs.getLong(2));
+                LocalDateTime orderDate = toLocalDateTime(rs.getTimestamp(3));
+                generator.writeStringField("orderDate", orderDate != null ? orderDate.toString() : null);
+                generator.writeStringField("status", rs.getString(4));
+                generator.writeNumberField("orderTotal", rs.getBigDecimal(5));
+                generator.writeNumberField("itemId", rs.getLong(6));
+                generator.writeNumberField("productId", rs.getLong(7));
+                generator.writeNumberField("quantity", rs.getInt(8));
+                generator.writeNumberField("price", rs.getBigDecimal(9));
+                generator.writeEndObject();
+            });
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void streamRows(LocalDateTime from, LocalDateTime to, RowWriter rowWriter) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Connector/J streams the result row by row for this statement only; other
+            // statements keep reading whole results, without a server-side cursor per query
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setTimestamp(1, Timestamp.valueOf(from != null ? from : MIN_DATE));
+            ps.setTimestamp(2, Timestamp.valueOf(to != null ? to : MAX_DATE));
+            return ps;
+        }, rs -> {
+            try {
+                rowWriter.write(rs);
+            } catch (IOException e) {
+                // Usually the client went away; abort the query rather than reading the rest
+                throw new DataAccessResourceFailureException("Export stream closed", e);
+            }
+        });
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static String csvEscape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
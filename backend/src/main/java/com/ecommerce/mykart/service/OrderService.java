@@ -1,10 +1,14 @@
 package com.ecommerce.mykart.service;
 
+import com.ecommerce.mykart.dto.OrderDTO;
+import com.ecommerce.mykart.dto.OrderPageDTO;
+import com.ecommerce.mykart.dto.OrderSummaryDTO;
 import com.ecommerce.mykart.model.*;
 import com.ecommerce.mykart.repository.OrderRepository;
 import com.ecommerce.mykart.repository.CartRepository;
 import com.ecommerce.mykart.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,6 +17,7 @@ import java.time.LocalDateTime;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +32,9 @@ public class OrderService {
     @Autowired
     private ProductRepository productRepository;
     
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+    
     @Transactional
     public Order createOrderFromCart(User user) {
         // Get user's cart
@@ -66,17 +74,50 @@ public class OrderService {
         
         // Clear cart after order creation
         cart.getCartItems().clear();
-        cartRepository.save(cart);
+        cartRepository.saveAndFlush(cart);
+        
+        // Keep the sales rollups in step with the order in the same transaction. Last, so the
+        // shared per-day rollup rows stay locked only until the commit
+        salesAnalyticsService.recordOrder(savedOrder);
         
         return savedOrder;
     }
     
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByUser(User user) {
         return orderRepository.findByUser(user);
     }
     
+    @Transactional(readOnly = true)
     public Order getOrderById(Long orderId) {
         return orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
     }
+    
+    /**
+     * Keyset-paginated order history, newest first. Pass the previous page's
+     * nextBeforeDate/nextBeforeId to fetch the following page.
+     */
+    @Transactional(readOnly = true)
+    public OrderPageDTO getOrderHistory(Long userId, LocalDateTime beforeDate, Long beforeId, int size) {
+        // Fetch one extra row to know whether another page exists
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<OrderSummaryDTO> rows = (beforeDate != null && beforeId != null)
+                ? orderRepository.findOrderSummariesBefore(userId, beforeDate, beforeId, limit)
+                : orderRepository.findOrderSummaries(userId, limit);
+        
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        return new OrderPageDTO(rows, hasMore);
+    }
+    
+    /**
+     * Load an order with its items, only if it belongs to the given user.
+     */
+    @Transactional(readOnly = true)
+    public Optional<OrderDTO> getOrderForUser(Long orderId, Long userId) {
+        return orderRepository.findByIdAndUserIdWithItems(orderId, userId).map(OrderDTO::new);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.ecommerce.mykart.service;
+
+import com.ecommerce.mykart.model.Product;
+import com.ecommerce.mykart.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable in-memory snapshot of the product catalog for the browse endpoints. Reads never
+ * touch the database or block. A product write made through {@link ProductService} swaps in a
+ * copy with just that entry changed; the full reload runs periodically, to pick up writes from
+ * other instances.
+ *
+ * Writers are serialized by a {@link ReentrantLock} rather than {@code synchronized}: the reload
+ * runs a query while holding it, which would pin a virtual thread's carrier for its duration.
+ */
+@Service
+public class ProductCatalog implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(ProductCatalog.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private volatile List<Product> products = Collections.emptyList();
+    private volatile Set<Long> productIds = Collections.emptySet();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Loaded once the app is ready, so products seeded by DataInitializer are included
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+        logger.info("Product catalog loaded with {} products", products.size());
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.refresh-ms:60000}", initialDelayString = "${catalog.refresh-ms:60000}")
+    public void refresh() {
+        writeLock.lock();
+        try {
+            // Loaded under the lock, so a put() of a product saved meanwhile is applied after it
+            publish(productRepository.findAll());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Add or replace one product after it has been saved.
+     */
+    public void put(Product product) {
+        writeLock.lock();
+        try {
+            List<Product> updated = new ArrayList<>(products.size() + 1);
+            boolean replaced = false;
+            for (Product existing : products) {
+                if (existing.getId().equals(product.getId())) {
+                    updated.add(product);
+                    replaced = true;
+                } else {
+                    updated.add(existing);
+                }
+            }
+            if (!replaced) {
+                updated.add(product);
+            }
+            publish(updated);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Drop one product after it has been deleted.
+     */
+    public void remove(Long productId) {
+        writeLock.lock();
+        try {
+            List<Product> updated = new ArrayList<>(products);
+            if (updated.removeIf(product -> product.getId().equals(productId))) {
+                publish(updated);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Writers hold the lock; readers see either the old or the new snapshot
+    private void publish(List<Product> updated) {
+        List<Product> snapshot = List.copyOf(updated);
+        productIds = snapshot.stream().map(Product::getId).collect(Collectors.toUnmodifiableSet());
+        products = snapshot;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mykart.catalog.products", this, catalog -> catalog.products.size())
+                .register(registry);
+    }
+
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    public boolean contains(Long productId) {
+        return productIds.contains(productId);
+    }
+
+    /**
+     * Products whose name contains the query, ignoring case (same matching as
+     * {@link ProductRepository#findByNameContainingIgnoreCase(String)}).
+     */
+    public List<Product> searchByName(String query) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        return products.stream()
+                .filter(p -> p.getName() != null && p.getName().toLowerCase(Locale.ROOT).contains(needle))
+                .toList();
+    }
+
+    public List<Product> byCategory(String category) {
+        String needle = category.toLowerCase(Locale.ROOT);
+        return products.stream()
+                .filter(p -> p.getCategory() != null && p.getCategory().toLowerCase(Locale.ROOT).contains(needle))
+                .toList();
+    }
+}
@@ -4,8 +4,15 @@ import com.ecommerce.mykart.model.Product;
 import com.ecommerce.mykart.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -14,36 +21,81 @@ public class ProductService {
     @Autowired
     ProductRepository productRepository;
 
+    @Autowired
+    ProductCatalog productCatalog;
+
+    @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<Product> getProductsByName(String name) {
         return productRepository.findByNameContainingIgnoreCase(name);
     }
 
+    /**
+     * Products whose category contains the given text, ignoring case; the same matching as
+     * {@link ProductCatalog#byCategory(String)}.
+     */
+    @Transactional(readOnly = true)
     public List<Product> getProductsByCategory(String category) {
         return productRepository.findByCategoryContainingIgnoreCase(category);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Product> getProductById(Long id) {
-        System.out.println("Looking for product with ID: " + id);
-        Optional<Product> product = productRepository.findById(id);
-        System.out.println("Product found: " + product.isPresent());
-        if (product.isPresent()) {
-            System.out.println("Product details: " + product.get().getName());
-        }
-        return product;
+        return productRepository.findById(id);
     }
 
     public Product saveProduct(Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productCatalog.put(saved);
+        return saved;
     }
 
     public void deleteProduct(Long id) {
         productRepository.deleteById(id);
+        productCatalog.remove(id);
     }
     
+    /**
+     * Hits, misses and hit ratio of the product entity and query cache regions. Read from the
+     * statistics Ehcache keeps itself (jsr107 enable-statistics in ehcache.xml) and publishes as
+     * JCache MXBeans, so they don't depend on hibernate.generate_statistics.
+     */
+    public Map<String, Map<String, Object>> getCacheStatistics() {
+        Map<String, Map<String, Object>> regions = new LinkedHashMap<>();
+        regions.put("products", cacheStatistics("products"));
+        regions.put("product-queries", cacheStatistics("product-queries"));
+        return regions;
+    }
+
+    private static Map<String, Object> cacheStatistics(String cacheName) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        long hits = 0;
+        long misses = 0;
+        long puts = 0;
+        try {
+            // One per cache manager holding a cache of that name; Hibernate creates a single one
+            ObjectName pattern = new ObjectName("javax.cache:type=CacheStatistics,Cache=" + cacheName + ",*");
+            for (ObjectName name : server.queryNames(pattern, null)) {
+                hits += (Long) server.getAttribute(name, "CacheHits");
+                misses += (Long) server.getAttribute(name, "CacheMisses");
+                puts += (Long) server.getAttribute(name, "CachePuts");
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not read statistics of cache " + cacheName, e);
+        }
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("hits", hits);
+        values.put("misses", misses);
+        values.put("puts", puts);
+        values.put("hitRatio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+        return values;
+    }
+
     public List<Product> sortProducts(List<Product> products, String sortBy, String sortDirection) {
         Comparator<Product> comparator = null;
         
@@ -0,0 +1,149 @@
+package com.ecommerce.mykart.service;
+
+import com.ecommerce.mykart.model.RefreshToken;
+import com.ecommerce.mykart.model.User;
+import com.ecommerce.mykart.repository.RefreshTokenRepository;
+import com.ecommerce.mykart.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Opaque, rotating refresh tokens. Each refresh consumes the presented token and issues
+ * a new one; presenting an already-used token revokes every refresh token of that user.
+ *
+ * A token rotated less than jwt.refresh-reuse-grace-ms ago can still be exchanged
+ * without tripping reuse detection: two browser tabs that refresh at the same time send the
+ * same token, and only one of them can win the rotation.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpirationMs;
+
+    @Value("${jwt.refresh-reuse-grace-ms:30000}")
+    private long reuseGraceMs;
+
+    /**
+     * Issue a new refresh token for the user and return its opaque value.
+     */
+    public String issue(Long userId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        User user = userRepository.getReferenceById(userId);
+        LocalDateTime expiresAt = LocalDateTime.now().plusNanos(refreshExpirationMs * 1_000_000L);
+        refreshTokenRepository.save(new RefreshToken(hash(token), user, expiresAt));
+        return token;
+    }
+
+    /**
+     * Consume a refresh token and issue its replacement.
+     */
+    // Reuse detection revokes the user's tokens and then throws; that revocation must commit
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String token) {
+        // Locks the row, so of two concurrent refreshes the second sees the first's rotation
+        RefreshToken existing = refreshTokenRepository.findByTokenHashForUpdate(hash(token))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+
+        Long userId = existing.getUser().getId();
+        LocalDateTime now = LocalDateTime.now();
+        if (existing.isRevoked()) {
+            if (!isWithinReuseGrace(existing, now)) {
+                // A used token came back: assume it was stolen and end every session of this user
+                int revoked = refreshTokenRepository.revokeAllForUser(userId);
+                logger.warn("Refresh token reuse detected for user {}; revoked {} tokens", userId, revoked);
+                throw new InvalidRefreshTokenException("Refresh token has already been used");
+            }
+            logger.debug("Refresh token for user {} reused within the grace window", userId);
+        } else {
+            if (existing.getExpiresAt().isBefore(now)) {
+                throw new InvalidRefreshTokenException("Refresh token has expired");
+            }
+            existing.setRevoked(true);
+            existing.setRotatedAt(now);
+            refreshTokenRepository.save(existing);
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return new Rotation(user, issue(userId));
+    }
+
+    private boolean isWithinReuseGrace(RefreshToken token, LocalDateTime now) {
+        // Only tokens consumed by a rotation; signed-out tokens were revoked on purpose
+        return token.getRotatedAt() != null
+                && token.getRotatedAt().plusNanos(reuseGraceMs * 1_000_000L).isAfter(now);
+    }
+
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHash(hash(token)).ifPresent(existing -> {
+            existing.setRevoked(true);
+            refreshTokenRepository.save(existing);
+        });
+    }
+
+    @Scheduled(cron = "${jwt.refresh-cleanup-cron:0 0 3 * * *}")
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        logger.info("Deleted {} expired refresh tokens", deleted);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class Rotation {
+        private final User user;
+        private final String refreshToken;
+
+        Rotation(User user, String refreshToken) {
+            this.user = user;
+            this.refreshToken = refreshToken;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+
+    public static class InvalidRefreshTokenException extends RuntimeException {
+        public InvalidRefreshTokenException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.ecommerce.mykart.service;
+
+import com.ecommerce.mykart.dto.ProductSalesDTO;
+import com.ecommerce.mykart.model.Order;
+import com.ecommerce.mykart.model.OrderItem;
+import com.ecommerce.mykart.model.SalesDailyCategory;
+import com.ecommerce.mykart.repository.SalesDailyCategoryRepository;
+import com.ecommerce.mykart.repository.SalesDailyProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maintains pre-aggregated sales rollups (per day x category and per day x product)
+ * incrementally as orders are placed, so dashboards read a handful of rows instead
+ * of scanning orders/order_items.
+ *
+ * Every checkout upserts the same few per-day rows, so rows are always written in key
+ * order (concurrent checkouts wait on each other instead of deadlocking), and callers
+ * record the rollup as the last statement of their transaction.
+ */
+@Service
+public class SalesAnalyticsService {
+    private static final Logger logger = LoggerFactory.getLogger(SalesAnalyticsService.class);
+
+    private static final String UNCATEGORIZED = "Uncategorized";
+
+    // Date, then category or product id: the order of the rollup tables' unique keys
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Comparator<List<Object>> KEY_ORDER = (a, b) -> {
+        int byDate = ((LocalDate) a.get(0)).compareTo((LocalDate) b.get(0));
+        return byDate != 0 ? byDate : ((Comparable) a.get(1)).compareTo(b.get(1));
+    };
+
+    private static final int BACKFILL_ATTEMPTS = 3;
+
+    private static final String UPSERT_CATEGORY_PREFIX =
+            "INSERT INTO sales_daily_category (sales_date, category, units, revenue, order_count) VALUES ";
+    private static final String UPSERT_PRODUCT_PREFIX =
+            "INSERT INTO sales_daily_product (sales_date, product_id, units, revenue, order_count) VALUES ";
+    private static final String UPSERT_SUFFIX =
+            " ON DUPLICATE KEY UPDATE units = units + VALUES(units), revenue = revenue + VALUES(revenue), " +
+            "order_count = order_count + VALUES(order_count)";
+
+    private static final String BACKFILL_CATEGORY_SQL =
+            "INSERT INTO sales_daily_category (sales_date, category, units, revenue, order_count) " +
+            "SELECT DATE(o.order_date), COALESCE(p.category, '" + UNCATEGORIZED + "'), " +
+            "SUM(oi.quantity), SUM(oi.price), COUNT(DISTINCT o.id) " +
+            "FROM orders o JOIN order_items oi ON oi.order_id = o.id JOIN products p ON p.id = oi.product_id " +
+            "WHERE o.order_date >= ? AND o.order_date < ? " +
+            "GROUP BY DATE(o.order_date), COALESCE(p.category, '" + UNCATEGORIZED + "')";
+    private static final String BACKFILL_PRODUCT_SQL =
+            "INSERT INTO sales_daily_product (sales_date, product_id, units, revenue, order_count) " +
+            "SELECT DATE(o.order_date), oi.product_id, SUM(oi.quantity), SUM(oi.price), COUNT(DISTINCT o.id) " +
+            "FROM orders o JOIN order_items oi ON oi.order_id = o.id " +
+            "WHERE o.order_date >= ? AND o.order_date < ? " +
+            "GROUP BY DATE(o.order_date), oi.product_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SalesDailyCategoryRepository salesDailyCategoryRepository;
+
+    @Autowired
+    private SalesDailyProductRepository salesDailyProductRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${analytics.backfill.threads:4}")
+    private int backfillThreads;
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService backfillExecutor;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadNumber = new AtomicInteger();
+        backfillExecutor = Executors.newFixedThreadPool(backfillThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sales-backfill-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+
+    /**
+     * Fold a newly placed order into the rollups. Runs inside the caller's transaction.
+     */
+    public void recordOrder(Order order) {
+        recordOrders(Collections.singletonList(order));
+    }
+
+    /**
+     * Fold a group of newly placed orders into the rollups with one multi-row upsert per table.
+     */
+    public void recordOrders(List<Order> orders) {
+        // Sorted: MySQL locks the rows of a multi-row upsert in the order they are listed
+        Map<List<Object>, Rollup> byCategory = new TreeMap<>(KEY_ORDER);
+        Map<List<Object>, Rollup> byProduct = new TreeMap<>(KEY_ORDER);
+
+        for (Order order : orders) {
+            LocalDate salesDate = order.getOrderDate().toLocalDate();
+            // Keys already counted for this order, so order_count is per order rather than per line
+            Set<List<Object>> seen = new HashSet<>();
+            for (OrderItem item : order.getOrderItems()) {
+                String category = item.getProduct().getCategory() != null
+                        ? item.getProduct().getCategory() : UNCATEGORIZED;
+                List<Object> categoryKey = Arrays.asList(salesDate, category);
+                List<Object> productKey = Arrays.asList(salesDate, item.getProduct().getId());
+
+                byCategory.computeIfAbsent(categoryKey, k -> new Rollup())
+                        .add(item, seen.add(categoryKey));
+                byProduct.computeIfAbsent(productKey, k -> new Rollup())
+                        .add(item, seen.add(productKey));
+            }
+        }
+
+        upsert(UPSERT_CATEGORY_PREFIX, byCategory);
+        upsert(UPSERT_PRODUCT_PREFIX, byProduct);
+    }
+
+    private void upsert(String prefix, Map<List<Object>, Rollup> rollups) {
+        if (rollups.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder(prefix);
+        List<Object> args = new ArrayList<>(rollups.size() * 5);
+        for (Map.Entry<List<Object>, Rollup> entry : rollups.entrySet()) {
+            sql.append(args.isEmpty() ? "(?,?,?,?,?)" : ",(?,?,?,?,?)");
+            args.add(Date.valueOf((LocalDate) entry.getKey().get(0)));
+            args.add(entry.getKey().get(1));
+            args.add(entry.getValue().units);
+            args.add(entry.getValue().revenue);
+            args.add(entry.getValue().orderCount);
+        }
+        sql.append(UPSERT_SUFFIX);
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    /**
+     * Rebuild the rollups from historical orders, one day per task across a thread pool.
+     * Each day is rebuilt in its own transaction: readers keep seeing the old totals until
+     * it commits, and checkouts for that day wait for it instead of being counted twice.
+     */
+    public int backfill() throws Exception {
+        LocalDateTime[] range = jdbcTemplate.queryForObject(
+                "SELECT MIN(order_date), MAX(order_date) FROM orders",
+                (rs, rowNum) -> new LocalDateTime[] {
+                        rs.getTimestamp(1) != null ? rs.getTimestamp(1).toLocalDateTime() : null,
+                        rs.getTimestamp(2) != null ? rs.getTimestamp(2).toLocalDateTime() : null });
+        if (range == null || range[0] == null) {
+            return 0;
+        }
+
+        LocalDate first = range[0].toLocalDate();
+        LocalDate last = range[1].toLocalDate();
+        logger.info("Backfilling sales rollups from {} to {} using {} threads", first, last, backfillThreads);
+
+        List<Future<?>> tasks = new ArrayList<>();
+        for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+            LocalDate salesDate = day;
+            tasks.add(backfillExecutor.submit(() -> backfillDay(salesDate)));
+        }
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        logger.info("Backfilled sales rollups for {} days", tasks.size());
+        return tasks.size();
+    }
+
+    private void backfillDay(LocalDate salesDate) {
+        Date date = Date.valueOf(salesDate);
+        Timestamp start = Timestamp.valueOf(salesDate.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(salesDate.plusDays(1).atStartOfDay());
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update("DELETE FROM sales_daily_category WHERE sales_date = ?", date);
+                    jdbcTemplate.update("DELETE FROM sales_daily_product WHERE sales_date = ?", date);
+                    jdbcTemplate.update(BACKFILL_CATEGORY_SQL, start, end);
+                    jdbcTemplate.update(BACKFILL_PRODUCT_SQL, start, end);
+                });
+                return;
+            } catch (PessimisticLockingFailureException e) {
+                // Chosen as the deadlock victim against a checkout on the same day; nothing was written
+                if (attempt == BACKFILL_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Backfill of {} hit a lock conflict, retrying", salesDate);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalesDailyCategory> getDailyCategorySales(LocalDate from, LocalDate to) {
+        return salesDailyCategoryRepository.findBySalesDateBetweenOrderBySalesDateAscCategoryAsc(from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSalesDTO> getTopProducts(LocalDate from, LocalDate to, int limit) {
+        return salesDailyProductRepository.findTopProducts(from, to, PageRequest.of(0, limit));
+    }
+
+    private static class Rollup {
+        private long units;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private long orderCount;
+
+        void add(OrderItem item, boolean firstLineOfOrder) {
+            units += item.getQuantity();
+            revenue = revenue.add(item.getPrice());
+            if (firstLineOfOrder) {
+                orderCount++;
+            }
+        }
+    }
+}
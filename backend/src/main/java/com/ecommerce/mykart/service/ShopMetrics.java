@@ -0,0 +1,41 @@
+package com.ecommerce.mykart.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business counters. Meters are registered once up front so recording is a single
+ * increment with no lookups or allocation.
+ */
+@Component
+public class ShopMetrics {
+
+    private final Counter cartsCreated;
+    private final Counter ordersPlaced;
+    private final Counter checkoutFailures;
+
+    public ShopMetrics(MeterRegistry registry) {
+        this.cartsCreated = Counter.builder("mykart.carts.created")
+                .description("Carts created for users and guests")
+                .register(registry);
+        this.ordersPlaced = Counter.builder("mykart.orders.placed")
+                .description("Orders placed through checkout")
+                .register(registry);
+        this.checkoutFailures = Counter.builder("mykart.checkout.failures")
+                .description("Checkout requests that did not produce an order")
+                .register(registry);
+    }
+
+    public void cartCreated() {
+        cartsCreated.increment();
+    }
+
+    public void orderPlaced() {
+        ordersPlaced.increment();
+    }
+
+    public void checkoutFailed() {
+        checkoutFailures.increment();
+    }
+}
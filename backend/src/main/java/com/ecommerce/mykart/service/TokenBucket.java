@@ -0,0 +1,62 @@
+package com.ecommerce.mykart.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket using the generic cell rate algorithm: the whole state is a
+ * single "theoretical arrival time" updated with CAS, so acquiring never blocks other
+ * threads and the time until the next free token falls out of the same arithmetic.
+ */
+public class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param permitsPerSecond sustained rate
+     * @param burst            tokens available at once when the bucket is full
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Take a token if one is available right now.
+     *
+     * @return 0 if admitted, otherwise nanoseconds until a token will be available
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long start = Math.max(tat, now);
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Give back a token taken by {@link #tryAcquire()} when the request it admitted was
+     * turned away further on. A theoretical arrival time in the past counts as "now", so
+     * a refund never grants more than the configured burst.
+     */
+    public void refund() {
+        theoreticalArrival.addAndGet(-emissionIntervalNanos);
+    }
+
+    /**
+     * True once the bucket has refilled completely. Such a bucket is indistinguishable from
+     * a new one, so it can be discarded without losing any rate-limit state.
+     */
+    public boolean isIdle() {
+        return theoreticalArrival.get() <= System.nanoTime();
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.mykart.service;
+
+import com.ecommerce.mykart.dto.UserProfile;
+import com.ecommerce.mykart.model.User;
+import com.ecommerce.mykart.repository.UserRepository;
+import com.ecommerce.mykart.security.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small cache of {@link UserProfile} snapshots for the request paths that need to confirm a
+ * user still exists (rather than trusting the JWT claims alone). Entries are immutable, so no
+ * entity state or password hash is shared between requests. Nothing in the application changes
+ * a user's profile, so entries are never invalidated; they expire after user-cache.ttl-ms
+ * (30 seconds by default) and the least recently used entry is dropped once the cache is full.
+ *
+ * Guarded by a {@link ReentrantLock} rather than {@code synchronized} so request threads
+ * waiting on it don't pin their carrier when running on virtual threads.
+ */
+@Service
+public class UserCacheService implements MeterBinder {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Value("${user-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${user-cache.max-size:10000}")
+    private int maxSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final Map<Long, CachedUser> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedUser> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /**
+     * Returns the user with the given id, loading it from the database on a miss or expiry.
+     */
+    public Optional<UserProfile> getUser(Long id) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            CachedUser cached = cache.get(id);
+            if (cached != null && cached.expiresAt > now) {
+                hits.increment();
+                return Optional.of(cached.profile);
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+
+        Optional<UserProfile> profile = userRepository.findById(id).map(this::toProfile);
+        if (profile.isPresent()) {
+            lock.lock();
+            try {
+                cache.put(id, new CachedUser(profile.get(), now + ttlMs));
+            } finally {
+                lock.unlock();
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * An uninitialized reference to the user, for associating carts and orders with it
+     * without loading the entity.
+     */
+    public User getReference(UserProfile profile) {
+        return userRepository.getReferenceById(profile.getId());
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return cache.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("mykart.cache.requests", hits, LongAdder::sum)
+                .tag("cache", "users").tag("result", "hit").register(registry);
+        FunctionCounter.builder("mykart.cache.requests", misses, LongAdder::sum)
+                .tag("cache", "users").tag("result", "miss").register(registry);
+        Gauge.builder("mykart.cache.size", this, UserCacheService::size)
+                .tag("cache", "users").register(registry);
+    }
+
+    private UserProfile toProfile(User user) {
+        List<String> authorities = userDetailsService.authoritiesFor(user.getEmail()).stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        return new UserProfile(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(), authorities);
+    }
+
+    private static class CachedUser {
+        private final UserProfile profile;
+        private final long expiresAt;
+
+        CachedUser(UserProfile profile, long expiresAt) {
+            this.profile = profile;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+-- Baseline: the schema the application had before Flyway, as ddl-auto=update generated it
+-- (constraint names aside). Existing databases are adopted at this version
+-- (spring.flyway.baseline-on-migrate) instead of running it, so anything added since then
+-- belongs in a later migration.
+
+CREATE TABLE users (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    username   VARCHAR(255) NOT NULL,
+    email      VARCHAR(50)  NOT NULL,
+    password   VARCHAR(120) NOT NULL,
+    first_name VARCHAR(20)  NOT NULL,
+    last_name  VARCHAR(20)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE products (
+    id                  BIGINT         NOT NULL AUTO_INCREMENT,
+    name                VARCHAR(255),
+    description         TEXT,
+    price               DECIMAL(38, 2),
+    category            VARCHAR(255),
+    image_url           VARCHAR(255),
+    stock_quantity      INT,
+    brand               VARCHAR(255),
+    model               VARCHAR(255),
+    warranty            VARCHAR(255),
+    rating              DOUBLE,
+    discount_percentage INT,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE carts (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id          BIGINT,
+    guest_identifier VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_carts_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE cart_items (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    cart_id    BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity   INT,
+    price      DECIMAL(38, 2),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_cart_items_cart FOREIGN KEY (cart_id) REFERENCES carts (id),
+    CONSTRAINT fk_cart_items_product FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE orders (
+    id           BIGINT         NOT NULL AUTO_INCREMENT,
+    user_id      BIGINT         NOT NULL,
+    order_date   DATETIME(6),
+    total_amount DECIMAL(38, 2),
+    status       VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE order_items (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    order_id   BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity   INT,
+    price      DECIMAL(38, 2),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
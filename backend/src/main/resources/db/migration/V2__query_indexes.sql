@@ -0,0 +1,71 @@
+-- Indexes for the lookups on every cart, checkout and catalog request.
+-- MySQL has no CREATE INDEX IF NOT EXISTS, and databases adopted from ddl-auto may already
+-- have some of these (or an unnamed equivalent), so each one is created only when missing.
+
+-- Category pages: exact-match lookups (case-insensitive under the default collation)
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'products'
+                 AND index_name = 'idx_products_category') = 0,
+              'CREATE INDEX idx_products_category ON products (category)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Name ordering and prefix matches; substring search still scans
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'products'
+                 AND index_name = 'idx_products_name') = 0,
+              'CREATE INDEX idx_products_name ON products (name)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Guest cart lookup by cookie on every anonymous cart request
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'carts'
+                 AND column_name = 'guest_identifier' AND seq_in_index = 1) = 0,
+              'CREATE INDEX idx_carts_guest_identifier ON carts (guest_identifier)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- One cart per user. Without the constraint, concurrent first requests could give a user
+-- several carts, which would make the ALTER fail: fold each user's duplicates into their
+-- oldest cart first. The grouped derived table is materialized, so it may read carts.
+UPDATE cart_items ci
+    JOIN carts c ON c.id = ci.cart_id
+    JOIN (SELECT user_id, MIN(id) AS keep_id FROM carts
+          WHERE user_id IS NOT NULL GROUP BY user_id HAVING COUNT(*) > 1) d
+        ON d.user_id = c.user_id AND c.id <> d.keep_id
+SET ci.cart_id = d.keep_id;
+
+DELETE c FROM carts c
+    JOIN (SELECT user_id, MIN(id) AS keep_id FROM carts
+          WHERE user_id IS NOT NULL GROUP BY user_id HAVING COUNT(*) > 1) d
+        ON d.user_id = c.user_id AND c.id <> d.keep_id;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'carts'
+                 AND column_name = 'user_id' AND non_unique = 0) = 0,
+              'ALTER TABLE carts ADD CONSTRAINT uk_carts_user_id UNIQUE (user_id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Loading a cart's lines and finding a product within a cart; also covers the cart_id foreign key
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'cart_items'
+                 AND index_name = 'idx_cart_items_cart_product') = 0,
+              'CREATE INDEX idx_cart_items_cart_product ON cart_items (cart_id, product_id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Order history; already declared on the entity, so usually present
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'orders'
+                 AND index_name = 'idx_orders_user_date') = 0,
+              'CREATE INDEX idx_orders_user_date ON orders (user_id, order_date)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,44 @@
+-- Tables for refresh tokens, access-token revocation and the sales rollups. They are not part of
+-- the V1 baseline, so databases adopted at V1 get them here. IF NOT EXISTS covers databases
+-- where ddl-auto=update already created them.
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    token_hash VARCHAR(64) NOT NULL,
+    user_id    BIGINT      NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    revoked    BIT         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash),
+    INDEX idx_refresh_tokens_user (user_id),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_id   VARCHAR(36) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (token_id),
+    INDEX idx_revoked_tokens_expires (expires_at)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS sales_daily_category (
+    id          BIGINT         NOT NULL AUTO_INCREMENT,
+    sales_date  DATE           NOT NULL,
+    category    VARCHAR(255)   NOT NULL,
+    units       BIGINT         NOT NULL,
+    revenue     DECIMAL(38, 2) NOT NULL,
+    order_count BIGINT         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_sales_daily_category_date_category UNIQUE (sales_date, category)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS sales_daily_product (
+    id          BIGINT         NOT NULL AUTO_INCREMENT,
+    sales_date  DATE           NOT NULL,
+    product_id  BIGINT         NOT NULL,
+    units       BIGINT         NOT NULL,
+    revenue     DECIMAL(38, 2) NOT NULL,
+    order_count BIGINT         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_sales_daily_product_date_product_id UNIQUE (sales_date, product_id)
+) ENGINE = InnoDB;
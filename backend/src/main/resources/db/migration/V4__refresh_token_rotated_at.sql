@@ -0,0 +1,10 @@
+-- When a refresh token was exchanged for a new one. A token rotated moments ago may be presented
+-- again by a concurrent refresh (another browser tab) without counting as reuse.
+-- Added only when missing, as in V2: ddl-auto=update may have created the column already.
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'refresh_tokens'
+                 AND column_name = 'rotated_at') = 0,
+              'ALTER TABLE refresh_tokens ADD COLUMN rotated_at DATETIME(6) NULL', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,20 @@
+-- Indexes for the scheduled and batch statements that range over a date rather than a key.
+-- Created only when missing, as in V2, since ddl-auto=update may have added them already.
+
+-- The scheduled purge of expired refresh tokens (RefreshTokenRepository.deleteExpired)
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'refresh_tokens'
+                 AND index_name = 'idx_refresh_tokens_expires') = 0,
+              'CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens (expires_at)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- The sales rollup backfill: the order date range and one day's orders at a time
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'orders'
+                 AND index_name = 'idx_orders_order_date') = 0,
+              'CREATE INDEX idx_orders_order_date ON orders (order_date)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,90 @@
+package com.ecommerce.mykart.config;
+
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A request that runs a read-only transaction and then a write transaction must send the write
+ * to the primary, although Open Session in View keeps one Hibernate session for both.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReplicaRoutingIntegrationTest {
+
+    @Container
+    static final MySQLContainer<?> PRIMARY = new MySQLContainer<>("mysql:8.0");
+
+    // Root, so the health check may run SHOW REPLICA STATUS and keep the replica in rotation
+    @Container
+    static final MySQLContainer<?> REPLICA = new MySQLContainer<>("mysql:8.0").withUsername("root");
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PRIMARY::getJdbcUrl);
+        registry.add("spring.datasource.username", PRIMARY::getUsername);
+        registry.add("spring.datasource.password", PRIMARY::getPassword);
+        registry.add("datasource.replicas.urls", REPLICA::getJdbcUrl);
+        registry.add("datasource.replicas.username", REPLICA::getUsername);
+        registry.add("datasource.replicas.password", REPLICA::getPassword);
+    }
+
+    @BeforeAll
+    static void migrateReplica() {
+        // Stands in for replication: the replica has the schema but none of the primary's rows
+        Flyway.configure()
+                .dataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void writeAfterReadOnlyTransactionGoesToPrimary() throws Exception {
+        String guest = UUID.randomUUID().toString();
+
+        // findGuestCart (read-only, replica) finds nothing, then getOrCreateGuestCart inserts the cart
+        mockMvc.perform(get("/api/cart/").cookie(new Cookie("guestIdentifier", guest)))
+                .andExpect(status().isOk());
+
+        assertThat(countCarts(PRIMARY, guest)).isEqualTo(1);
+        assertThat(countCarts(REPLICA, guest)).isZero();
+    }
+
+    private static int countCarts(MySQLContainer<?> database, String guest) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                database.getJdbcUrl(), database.getUsername(), database.getPassword());
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM carts WHERE guest_identifier = ?")) {
+            statement.setString(1, guest);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecommerce.mykart.config;
+
+import com.ecommerce.mykart.dto.CartDTO;
+import com.ecommerce.mykart.dto.CartItemDTO;
+import com.ecommerce.mykart.dto.OrderDTO;
+import com.ecommerce.mykart.dto.OrderItemDTO;
+import com.ecommerce.mykart.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Serializes fixed payloads with and without {@link ShopJsonModule} and compares both with the
+ * JSON committed under src/test/resources/json, so the hand-written serializers cannot drift
+ * from what the reflective ones produce (field order, nulls, escaping, price formatting).
+ */
+class ShopJsonModuleTest {
+
+    private final ObjectMapper reflective = mapper(false);
+    private final ObjectMapper tuned = mapper(true);
+
+    @Test
+    void productsMatchGoldenJson() throws IOException {
+        assertGolden("products.json", edgeCaseProducts());
+    }
+
+    @Test
+    void cartMatchesGoldenJson() throws IOException {
+        CartItemDTO item = new CartItemDTO();
+        item.setId(11L);
+        item.setProductId(5L);
+        item.setProductName("Phone");
+        item.setQuantity(2);
+        item.setPrice(new BigDecimal("199.99"));
+
+        // One item, since the cart holds its items in a HashSet
+        CartDTO cart = new CartDTO();
+        cart.setId(7L);
+        cart.setUserId(3L);
+        cart.setCartItems(Set.of(item));
+
+        assertGolden("cart.json", cart);
+        assertGolden("empty-cart.json", new CartDTO());
+    }
+
+    @Test
+    void orderMatchesGoldenJson() throws IOException {
+        OrderDTO order = new OrderDTO();
+        order.setId(9L);
+        order.setUserId(3L);
+        order.setOrderDate(LocalDateTime.of(2024, 5, 1, 10, 15, 30));
+        order.setTotalAmount(new BigDecimal("400.48"));
+        order.setStatus("PENDING");
+        order.setOrderItems(List.of(
+                orderItem(21L, 5L, "Phone", "/img/phone.png", 2, "199.99"),
+                orderItem(22L, 6L, "Case", null, 1, "0.50")));
+
+        assertGolden("order.json", order);
+        assertGolden("empty-order.json", new OrderDTO());
+    }
+
+    private void assertGolden(String resource, Object value) throws IOException {
+        String expected = golden(resource);
+        assertThat(reflective.writeValueAsString(value)).as("bean serializers, %s", resource).isEqualTo(expected);
+        assertThat(tuned.writeValueAsString(value)).as("ShopJsonModule, %s", resource).isEqualTo(expected);
+    }
+
+    private static String golden(String resource) throws IOException {
+        try (InputStream in = ShopJsonModuleTest.class.getResourceAsStream("/json/" + resource)) {
+            assertThat(in).as("resource /json/%s", resource).isNotNull();
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).strip();
+        }
+    }
+
+    // Configured like Spring Boot's auto-configured ObjectMapper
+    private static ObjectMapper mapper(boolean tuned) {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (tuned) {
+            builder.addModule(new ShopJsonModule());
+        }
+        return builder.build();
+    }
+
+    // Nulls, escaping, and negative, whole and high-scale prices on both sides of the fast path
+    private static List<Product> edgeCaseProducts() {
+        List<Product> products = new ArrayList<>();
+        products.add(new Product());
+
+        String[] prices = {"0", "0.00", "-12.50", "1999", "0.000001", "0.0000001", "1E+3",
+                "123456789012345678.99", "42.123456789"};
+        for (int i = 0; i < prices.length; i++) {
+            Product product = new Product("Quote \" backslash \\ tab \t café ☃", null,
+                    new BigDecimal(prices[i]), "Toys", null, -1);
+            product.setId((long) -i);
+            product.setRating(i % 2 == 0 ? 4.25 : null);
+            products.add(product);
+        }
+        return products;
+    }
+
+    private static OrderItemDTO orderItem(Long id, Long productId, String name, String imageUrl, int quantity,
+                                          String price) {
+        OrderItemDTO item = new OrderItemDTO();
+        item.setId(id);
+        item.setProductId(productId);
+        item.setProductName(name);
+        item.setProductImageUrl(imageUrl);
+        item.setQuantity(quantity);
+        item.setPrice(new BigDecimal(price));
+        return item;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.mykart.config;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test if its body runs more SQL statements than allowed, e.g.
+ * {@code @SqlBudget(statements = 2)} on a test that performs {@code GET /api/cart/}.
+ * Counts everything the test method runs through {@link InstrumentedDataSource}, including
+ * work the requests hand to other threads; {@code @BeforeEach} setup is not counted.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SqlBudgetExtension.class)
+public @interface SqlBudget {
+
+    int statements();
+}
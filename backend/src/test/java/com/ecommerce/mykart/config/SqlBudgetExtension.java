@@ -0,0 +1,46 @@
+package com.ecommerce.mykart.config;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Map;
+
+/**
+ * Backs {@link SqlBudget}: opens a {@link SqlRequestStats} scope around the test method, so
+ * the stats of each request it performs (MockMvc runs them on the test thread) add up into it.
+ */
+public class SqlBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SqlBudgetExtension.class);
+
+    // Same threshold as sql-stats.repeat-threshold, for the failure message
+    private static final int REPEAT_THRESHOLD = 3;
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        if (budget(context) != null) {
+            context.getStore(NAMESPACE).put(context.getUniqueId(), SqlRequestStats.start());
+        }
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        SqlBudget budget = budget(context);
+        SqlRequestStats stats = context.getStore(NAMESPACE).remove(context.getUniqueId(), SqlRequestStats.class);
+        if (budget == null || stats == null) {
+            return;
+        }
+        SqlRequestStats.end();
+
+        if (context.getExecutionException().isEmpty() && stats.getStatements() > budget.statements()) {
+            Map<String, Integer> repeated = stats.repeatedShapes(REPEAT_THRESHOLD);
+            throw new AssertionError("Ran " + stats.getStatements() + " SQL statements, budget is "
+                    + budget.statements() + (repeated.isEmpty() ? "" : "; repeated: " + repeated));
+        }
+    }
+
+    private static SqlBudget budget(ExtensionContext context) {
+        return context.getTestMethod().map(method -> method.getAnnotation(SqlBudget.class)).orElse(null);
+    }
+}
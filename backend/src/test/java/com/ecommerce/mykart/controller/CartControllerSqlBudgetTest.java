@@ -0,0 +1,75 @@
+package com.ecommerce.mykart.controller;
+
+import com.ecommerce.mykart.config.SqlBudget;
+import com.ecommerce.mykart.model.Product;
+import com.ecommerce.mykart.repository.ProductRepository;
+import com.ecommerce.mykart.service.CartService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets for the cart read path, which has regressed into N+1s before (lazy items,
+ * one product lookup per line).
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@AutoConfigureMockMvc
+class CartControllerSqlBudgetTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartService cartService;
+
+    private String guest;
+
+    @BeforeEach
+    void fillGuestCart() {
+        guest = UUID.randomUUID().toString();
+        for (String name : new String[] {"Budget Mouse", "Budget Keyboard", "Budget Monitor"}) {
+            Product product = productRepository.save(new Product(name, "SQL budget fixture",
+                    new BigDecimal("19.99"), "Electronics", null, 100));
+            cartService.addItemToCart(guest, product.getId(), 1);
+        }
+    }
+
+    // The cart, then its lines joined with their products: independent of the number of lines
+    @Test
+    @SqlBudget(statements = 2)
+    void guestCartLoadsInTwoStatements() throws Exception {
+        mockMvc.perform(get("/api/cart/").cookie(new Cookie("guestIdentifier", guest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cartItems.length()").value(3));
+    }
+}
@@ -0,0 +1,318 @@
+package com.ecommerce.mykart.repository;
+
+import com.ecommerce.mykart.config.InstrumentedDataSource;
+import com.ecommerce.mykart.model.Cart;
+import com.ecommerce.mykart.model.CartItem;
+import com.ecommerce.mykart.model.Product;
+import com.ecommerce.mykart.model.User;
+import com.ecommerce.mykart.service.CheckoutBatcher;
+import com.ecommerce.mykart.service.SalesAnalyticsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every repository query and the JdbcTemplate SQL of the checkout batcher and the sales
+ * rollups against a migrated database, captures the SQL actually sent through
+ * {@link InstrumentedDataSource}, and EXPLAINs it with the bound values.
+ * Fails on a full scan with no usable index or a filesort, unless the query is known to need it,
+ * so a dropped index or a rewritten query shows up here rather than in production.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+class QueryPlanTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("sql-stats.enabled", () -> "true");
+        // Long enough a window that two concurrent checkouts share a batch
+        registry.add("checkout.batching.enabled", () -> "true");
+        registry.add("checkout.batching.window-ms", () -> "500");
+    }
+
+    private static final Map<String, String> EXPECTED_SCANS = Map.of(
+            "ProductRepository.findByNameContainingIgnoreCase", "substring search; browsing is served from ProductCatalog",
+            "ProductRepository.findAll", "full catalog load for ProductCatalog and the unpaged listing");
+
+    private static final Map<String, String> EXPECTED_FILESORTS = Map.of(
+            "SalesDailyProductRepository.findTopProducts", "ranks by an aggregate, which no index can provide");
+
+    private static final Pattern INSERT_SELECT = Pattern.compile("(?is)^\\s*insert\\b.*?\\bselect\\b");
+
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+    }
+
+    /**
+     * Collects the statements executed by the selected threads while a query label is set;
+     * statements from scheduled jobs running at the same time are ignored.
+     */
+    static class StatementCapture implements InstrumentedDataSource.StatementListener {
+        private volatile Predicate<Thread> threads;
+        private volatile List<InstrumentedDataSource.StatementExecution> target;
+
+        @Override
+        public void statementExecuted(InstrumentedDataSource.StatementExecution execution) {
+            List<InstrumentedDataSource.StatementExecution> statements = target;
+            Predicate<Thread> selected = threads;
+            if (statements != null && selected != null && selected.test(Thread.currentThread())) {
+                synchronized (statements) {
+                    statements.add(execution);
+                }
+            }
+        }
+
+        void start(Predicate<Thread> threads, List<InstrumentedDataSource.StatementExecution> statements) {
+            this.threads = threads;
+            target = statements;
+        }
+
+        void stop() {
+            target = null;
+            threads = null;
+        }
+    }
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private SalesDailyCategoryRepository salesDailyCategoryRepository;
+
+    @Autowired
+    private SalesDailyProductRepository salesDailyProductRepository;
+
+    @Autowired
+    private CheckoutBatcher checkoutBatcher;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    private final Map<String, List<InstrumentedDataSource.StatementExecution>> captured = new LinkedHashMap<>();
+
+    @Test
+    void hotQueriesUseTheirIndexes() {
+        User savedUser = userRepository.save(user("plans@example.com"));
+        Product product = productRepository.save(new Product("Plan Phone", "EXPLAIN fixture",
+                new BigDecimal("9.99"), "Electronics", null, 10));
+        Cart cart = cartRepository.save(new Cart(savedUser));
+        User shopper = userRepository.save(user("shopper@example.com"));
+        User otherShopper = userRepository.save(user("other-shopper@example.com"));
+        cartRepository.save(cartWithItem(shopper, product));
+        cartRepository.save(cartWithItem(otherShopper, product));
+
+        // Cached entities and query results would be answered without any SQL
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+
+        LocalDate today = LocalDate.now();
+        capture("ProductRepository.findById", () -> productRepository.findById(product.getId()));
+        capture("ProductRepository.findByCategoryContainingIgnoreCase",
+                () -> productRepository.findByCategoryContainingIgnoreCase("lectr"));
+        capture("ProductRepository.findByNameContainingIgnoreCase",
+                () -> productRepository.findByNameContainingIgnoreCase("phone"));
+        capture("ProductRepository.findAll", () -> productRepository.findAll());
+
+        capture("CartRepository.findByUser", () -> cartRepository.findByUser(savedUser));
+        capture("CartRepository.findByUserForUpdate", () -> cartRepository.findByUserForUpdate(savedUser));
+        capture("CartRepository.findByGuestIdentifier",
+                () -> cartRepository.findByGuestIdentifier("00000000-0000-0000-0000-000000000000"));
+        capture("Cart.cartItems", () -> cartRepository.findById(cart.getId()).orElseThrow().getCartItems().size());
+
+        capture("OrderRepository.findOrderSummaries",
+                () -> orderRepository.findOrderSummaries(savedUser.getId(), PageRequest.of(0, 21)));
+        capture("OrderRepository.findOrderSummariesBefore",
+                () -> orderRepository.findOrderSummariesBefore(savedUser.getId(), LocalDateTime.now(), Long.MAX_VALUE,
+                        PageRequest.of(0, 21)));
+        capture("OrderRepository.findByIdAndUserIdWithItems",
+                () -> orderRepository.findByIdAndUserIdWithItems(1L, savedUser.getId()));
+        capture("OrderRepository.findByUser", () -> orderRepository.findByUser(savedUser));
+
+        capture("RefreshTokenRepository.findByTokenHash", () -> refreshTokenRepository.findByTokenHash("0"));
+        capture("RefreshTokenRepository.findByTokenHashForUpdate",
+                () -> refreshTokenRepository.findByTokenHashForUpdate("0"));
+        capture("RefreshTokenRepository.revokeAllForUser",
+                () -> refreshTokenRepository.revokeAllForUser(savedUser.getId()));
+        capture("RefreshTokenRepository.deleteExpired",
+                () -> refreshTokenRepository.deleteExpired(LocalDateTime.now()));
+        capture("RevokedTokenRepository.findActiveTokenIds",
+                () -> revokedTokenRepository.findActiveTokenIds(LocalDateTime.now()));
+        capture("RevokedTokenRepository.deleteExpired",
+                () -> revokedTokenRepository.deleteExpired(LocalDateTime.now()));
+        capture("UserRepository.findByEmail", () -> userRepository.findByEmail("plans@example.com"));
+        capture("UserRepository.findByUsername", () -> userRepository.findByUsername("plans@example.com"));
+        capture("UserRepository.existsByEmail", () -> userRepository.existsByEmail("plans@example.com"));
+
+        capture("SalesDailyCategoryRepository.findBySalesDateBetweenOrderBySalesDateAscCategoryAsc",
+                () -> salesDailyCategoryRepository.findBySalesDateBetweenOrderBySalesDateAscCategoryAsc(
+                        today.minusDays(30), today));
+        capture("SalesDailyProductRepository.findTopProducts",
+                () -> salesDailyProductRepository.findTopProducts(today.minusDays(30), today, PageRequest.of(0, 10)));
+
+        // The batch and the backfill run on their own threads and commit; they leave two orders
+        capture("CheckoutBatcher", thread -> thread.getName().equals("checkout-batcher"), () -> {
+            CompletableFuture<?> first = CompletableFuture.runAsync(() -> checkoutBatcher.checkout(shopper));
+            CompletableFuture<?> second = CompletableFuture.runAsync(() -> checkoutBatcher.checkout(otherShopper));
+            CompletableFuture.allOf(first, second).join();
+        });
+        Thread testThread = Thread.currentThread();
+        capture("SalesAnalyticsService.backfill",
+                thread -> thread == testThread || thread.getName().startsWith("sales-backfill-"), () -> {
+            try {
+                salesAnalyticsService.backfill();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        List<String> violations = new ArrayList<>();
+        captured.forEach((label, statements) -> {
+            assertThat(statements).as("statements executed by %s", label).isNotEmpty();
+            for (InstrumentedDataSource.StatementExecution statement : statements) {
+                String sql = explainableSql(statement.getSql());
+                if (sql != null) {
+                    violations.addAll(checkPlan(label, sql, statement));
+                }
+            }
+        });
+        assertThat(violations).isEmpty();
+    }
+
+    private void capture(String label, Runnable queries) {
+        Thread testThread = Thread.currentThread();
+        capture(label, thread -> thread == testThread, queries);
+    }
+
+    private void capture(String label, Predicate<Thread> threads, Runnable queries) {
+        List<InstrumentedDataSource.StatementExecution> statements = new ArrayList<>();
+        captured.put(label, statements);
+        statementCapture.start(threads, statements);
+        try {
+            // Rolled back, so locking reads and bulk updates leave nothing behind
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                queries.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            statementCapture.stop();
+        }
+    }
+
+    private List<String> checkPlan(String label, String sql, InstrumentedDataSource.StatementExecution statement) {
+        List<String> violations = new ArrayList<>();
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, statement.getParameters());
+        for (Map<String, Object> row : plan) {
+            String table = String.valueOf(row.get("table"));
+            String extra = row.get("Extra") != null ? row.get("Extra").toString() : "";
+
+            // On small tables the optimizer may scan although an index fits; only a scan with no
+            // usable index at all means the index is missing
+            if ("ALL".equals(row.get("type")) && row.get("possible_keys") == null
+                    && !EXPECTED_SCANS.containsKey(label)) {
+                violations.add(label + ": full scan of " + table + " with no usable index in " + statement.getShape());
+            }
+            if (extra.contains("Using filesort") && !EXPECTED_FILESORTS.containsKey(label)) {
+                violations.add(label + ": filesort on " + table + " in " + statement.getShape());
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * The SQL to EXPLAIN: SELECT, UPDATE and DELETE as sent, and the SELECT part of an
+     * INSERT ... SELECT (all its bind parameters are in that part). Plain inserts have no plan
+     * worth checking.
+     */
+    private static String explainableSql(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        String trimmed = sql.strip();
+        String verb = trimmed.length() >= 6 ? trimmed.substring(0, 6).toLowerCase(Locale.ROOT) : "";
+        if (verb.equals("select") || verb.equals("update") || verb.equals("delete")) {
+            return sql;
+        }
+        Matcher insertSelect = INSERT_SELECT.matcher(sql);
+        return insertSelect.find() ? sql.substring(insertSelect.end() - "select".length()) : null;
+    }
+
+    private static User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("x");
+        user.setFirstName("Query");
+        user.setLastName("Plans");
+        return user;
+    }
+
+    private static Cart cartWithItem(User user, Product product) {
+        Cart cart = new Cart(user);
+        cart.getCartItems().add(new CartItem(cart, product, 1));
+        return cart;
+    }
+}
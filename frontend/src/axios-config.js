@@ -1,6 +1,54 @@
 import axios from 'axios';
 
+const REFRESH_URL = 'http://localhost:8082/api/auth/refresh';
+
 // Configure axios to send credentials with all requests
 axios.defaults.withCredentials = true;
 
-export default axios;
\ No newline at end of file
+// Access tokens are short-lived; when a request comes back 401, renew the token once
+// with the stored refresh token and replay the request. Concurrent 401s share one
+// refresh, since each refresh token can only be used once.
+let refreshPromise = null;
+
+const refreshAccessToken = (user) => {
+  if (!refreshPromise) {
+    refreshPromise = axios.post(REFRESH_URL, { refreshToken: user.refreshToken })
+      .then(response => {
+        localStorage.setItem('user', JSON.stringify(response.data));
+        return response.data;
+      })
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+  return refreshPromise;
+};
+
+axios.interceptors.response.use(
+  response => response,
+  async error => {
+    const original = error.config;
+    const user = JSON.parse(localStorage.getItem('user'));
+
+    if (error.response && error.response.status === 401 && original && !original._retried &&
+        user && !(original.url || '').includes('/api/auth/')) {
+      original._retried = true;
+      if (user.refreshToken) {
+        try {
+          const refreshed = await refreshAccessToken(user);
+          original.headers = { ...original.headers, Authorization: 'Bearer ' + refreshed.token };
+          return axios(original);
+        } catch (refreshError) {
+          // Fall through: the session can't be renewed
+        }
+      }
+      // The server rejects stale tokens even on public routes, so drop the session
+      // and let later requests go out as a guest
+      localStorage.removeItem('user');
+    }
+
+    return Promise.reject(error);
+  }
+);
+
+export default axios;
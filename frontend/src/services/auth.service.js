@@ -36,7 +36,16 @@ class AuthService {
   }
 
   logout() {
+    const user = this.getCurrentUser();
     localStorage.removeItem('user');
+
+    // Revoke the tokens server-side; the local session is gone either way
+    if (user && (user.token || user.accessToken)) {
+      axios.post(API_URL + 'signout',
+        { refreshToken: user.refreshToken },
+        { headers: { Authorization: 'Bearer ' + (user.token || user.accessToken) } }
+      ).catch(() => {});
+    }
   }
 
   async register(firstName, lastName, email, password) {